@@ -0,0 +1,59 @@
+package com.ocadotask.algorithm;
+
+import com.google.ortools.sat.CpModel;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to build the CP-SAT model of the whole problem, without solving it. Model building counts against the time
+// limit, so this is the part of a run that grows with the order count before the solver even starts.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CpSatModelBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int orders;
+
+    @Param({"10"})
+    public int pickers;
+
+    @Param({"PER_PICKER", "CUMULATIVE"})
+    public CpSatModel model;
+
+    private CpSatScheduler scheduler;
+    private List<Order> orderList;
+    private Store store;
+
+    @Setup
+    public void setUp() {
+        scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                CpSatSchedulerSettings.defaults().withModel(model));
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(orders, pickers));
+        orderList = generator.orders();
+        store = generator.store();
+    }
+
+    @Benchmark
+    public CpModel createModel() {
+        return scheduler.createModel(orderList, store);
+    }
+}
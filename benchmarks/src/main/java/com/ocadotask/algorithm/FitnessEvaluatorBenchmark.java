@@ -0,0 +1,83 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Evaluations per second of a random schedule: on primitive arrays alone, and from a genotype the way the genetic
+// scheduler's fitness function does it (decode, then evaluate). In the same package as FitnessEvaluator, so that
+// the package-private encodings can be used.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FitnessEvaluatorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int orders;
+
+    @Param({"10", "100"})
+    public int pickers;
+
+    @Param({"MIXED", "COMPACT"})
+    public GenotypeEncoding encoding;
+
+    @Param({"MAXIMIZE_VALUE"})
+    public SchedulerOptimizationCriteria criteria;
+
+    private FitnessEvaluator evaluator;
+    private ScheduleEncoding<?> scheduleEncoding;
+    private Genotype<?> genotype;
+    private int[] pickerAssignment;
+    private int[] orderSequence;
+
+    @Setup
+    public void setUp() {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(orders, pickers));
+        evaluator = new FitnessEvaluator(generator.orders(), generator.store(), criteria);
+        scheduleEncoding = switch (encoding) {
+            case MIXED -> new MixedScheduleEncoding(evaluator.numOrders(), evaluator.numPickers());
+            case COMPACT -> new CompactScheduleEncoding(evaluator.numOrders(), evaluator.numPickers());
+        };
+        genotype = scheduleEncoding.genotypeFactory().newInstance();
+        pickerAssignment = new int[evaluator.numOrders()];
+        orderSequence = new int[evaluator.numOrders()];
+        decode(scheduleEncoding, genotype);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <G extends Gene<?, G>> void decode(ScheduleEncoding<G> encoding, Genotype<?> genotype) {
+        encoding.decode((Genotype<G>) genotype, pickerAssignment, orderSequence);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <G extends Gene<?, G>> double evaluate(ScheduleEncoding<G> encoding, Genotype<?> genotype) {
+        return encoding.evaluate((Genotype<G>) genotype, evaluator, pickerAssignment, orderSequence);
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return evaluator.evaluate(pickerAssignment, orderSequence);
+    }
+
+    @Benchmark
+    public double evaluateGenotype() {
+        return evaluate(scheduleEncoding, genotype);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ocadotask.benchmark;
+
+import com.ocadotask.algorithm.CombinedScheduler;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.Scheduler;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end solution quality at a fixed time budget. Every iteration is a single run until the deadline, the time is
+// the score and the mean quality of the schedules is reported as the secondary metrics scheduledOrders and
+// scheduledValue.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CombinedSchedulerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int orders;
+
+    @Param({"10", "100"})
+    public int pickers;
+
+    @Param({"1.5"})
+    public double overloadRatio;
+
+    @Param({"2", "5"})
+    public int timeLimitInSeconds;
+
+    @Param({"MAXIMIZE_VALUE", "MAXIMIZE_COUNT"})
+    public SchedulerOptimizationCriteria criteria;
+
+    private Scheduler scheduler;
+    private List<Order> orderList;
+    private Store store;
+
+    // JMH adds up event counters of all measured iterations (of all forks), so every run records its share of the mean
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Quality {
+        public double scheduledOrders;
+        public double scheduledValue;
+        private int measuredRuns;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            measuredRuns = params.getMeasurement().getCount() * Math.max(1, params.getForks());
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            scheduledOrders = 0;
+            scheduledValue = 0;
+        }
+
+        void record(List<ScheduleEntry> schedule) {
+            scheduledOrders = (double) schedule.size() / measuredRuns;
+            scheduledValue = schedule.stream().mapToDouble(entry -> entry.order().value().doubleValue()).sum() / measuredRuns;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        scheduler = new CombinedScheduler(criteria);
+        InstanceGenerator generator = new InstanceGenerator(
+                InstanceSettings.defaults(orders, pickers).withOverloadRatio(overloadRatio));
+        orderList = generator.orders();
+        store = generator.store();
+    }
+
+    @Benchmark
+    public List<ScheduleEntry> calculateSchedule(Quality quality) {
+        List<ScheduleEntry> schedule = scheduler.calculateSchedule(orderList, store,
+                Instant.now().plusSeconds(timeLimitInSeconds), new IncumbentHolder(criteria));
+        quality.record(schedule);
+        return schedule;
+    }
+}
@@ -0,0 +1,85 @@
+package com.ocadotask.benchmark;
+
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.OrdersReader;
+import com.ocadotask.data.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to read the input: the JSON DOM parsers from a String and the streaming readers from a file
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({"1000", "100000"})
+    public int orders;
+
+    @Param({"100"})
+    public int pickers;
+
+    private String storeJson;
+    private String ordersJson;
+    private Path storePath;
+    private Path ordersPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(orders, pickers));
+        storePath = Files.createTempFile("store", ".json");
+        ordersPath = Files.createTempFile("orders", ".json");
+        generator.writeStore(storePath);
+        generator.writeOrders(ordersPath);
+        storeJson = Files.readString(storePath);
+        ordersJson = Files.readString(ordersPath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(storePath);
+        Files.deleteIfExists(ordersPath);
+    }
+
+    @Benchmark
+    public Store parseStore() {
+        return Store.parse(storeJson);
+    }
+
+    @Benchmark
+    public List<Order> parseOrders() {
+        return Orders.parse(ordersJson);
+    }
+
+    @Benchmark
+    public List<Order> readOrders() throws IOException {
+        return Orders.read(ordersPath);
+    }
+
+    @Benchmark
+    public OrderTable readOrderTable() throws IOException {
+        return OrdersReader.readTable(ordersPath);
+    }
+}
@@ -1,41 +1,178 @@
 package com.ocadotask;
 
 import com.ocadotask.algorithm.*;
-import com.ocadotask.data.Order;
-import com.ocadotask.data.Orders;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.OrderTable;
 import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.ScheduleFormat;
+import com.ocadotask.data.ScheduleWriter;
+import com.ocadotask.data.Snapshot;
 import com.ocadotask.data.Store;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 public class Main {
 
-    // The time limit is set to 11 seconds for the sake of the demo. Keep in mind that this limit is an approximate value.
+    // The time limit is set to 11 seconds for the sake of the demo. It bounds the whole run, from the start of the JVM
+    // to the last byte of the schedule, including reading the input.
     public static final int TIME_LIMIT_IN_SECONDS = 11;
+    // Kept for writing the schedule after the search (about 0.1 s per million entries) and for the JVM to exit
+    private static final Duration OUTPUT_RESERVE = Duration.ofMillis(500);
     // The optimization criteria is hard-coded because of the run specifications.
     //public static final SchedulerOptimizationCriteria OPTIMIZATION_CRITERIA = SchedulerOptimizationCriteria.MAXIMIZE_COUNT;
     public static final SchedulerOptimizationCriteria OPTIMIZATION_CRITERIA = SchedulerOptimizationCriteria.MAXIMIZE_VALUE;
+    public static final int DEFAULT_SERVER_PORT = 8080;
+    // Requests waiting for a free solver in server mode, further requests are rejected
+    private static final int SERVER_MAX_QUEUED_REQUESTS = 16;
 
     public static void main(String[] args) {
-        if (args.length != 2) {
-            System.out.println("Usage: java -jar <jar_file_path> <store_file_path> <orders_file_path>");
+        Instant deadline = ProcessHandle.current().info().startInstant().orElseGet(Instant::now)
+                .plusSeconds(TIME_LIMIT_IN_SECONDS).minus(OUTPUT_RESERVE);
+
+        // Options come before the input files
+        ScheduleFormat outputFormat = ScheduleFormat.TEXT;
+        Path outputPath = null;
+        Path reportPath = null;
+        double relativeGapLimit = 0;
+        int firstInput = 0;
+        for (; firstInput < args.length && args[firstInput].startsWith("--"); firstInput++) {
+            String option = args[firstInput];
+            if (option.startsWith("--format=")) {
+                try {
+                    outputFormat = ScheduleFormat.valueOf(option.substring("--format=".length()).toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    printUsage();
+                    return;
+                }
+            } else if (option.startsWith("--output=")) {
+                outputPath = Path.of(option.substring("--output=".length()));
+            } else if (option.startsWith("--report=")) {
+                reportPath = Path.of(option.substring("--report=".length()));
+            } else if (option.startsWith("--gap=")) {
+                try {
+                    relativeGapLimit = Double.parseDouble(option.substring("--gap=".length()));
+                } catch (NumberFormatException e) {
+                    relativeGapLimit = Double.NaN;
+                }
+                if (!(relativeGapLimit >= 0)) {
+                    printUsage();
+                    return;
+                }
+            } else {
+                printUsage();
+                return;
+            }
+        }
+        args = Arrays.copyOfRange(args, firstInput, args.length);
+
+        // Resident server, each request is solved concurrently with at most one other request per core
+        if (args.length >= 1 && args.length <= 2 && args[0].equals("serve")) {
+            try {
+                int port = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_SERVER_PORT;
+                ScheduleServer server = new ScheduleServer(new InetSocketAddress(port),
+                        Runtime.getRuntime().availableProcessors(), SERVER_MAX_QUEUED_REQUESTS);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+                System.err.println("Listening on " + server.address());
+            } catch (NumberFormatException e) {
+                printUsage();
+            } catch (IOException e) {
+                System.err.println("Error starting server: " + e.getMessage());
+            }
             return;
         }
 
-        String storeFilePath = args[0];
-        String ordersFilePath = args[1];
+        // JFR events are always available to a recording, the JSON report only when requested
+        TelemetryReport report = reportPath == null ? null : new TelemetryReport();
+        SchedulerListener listener = report == null
+                ? new JfrSchedulerListener()
+                : SchedulerListener.compose(new JfrSchedulerListener(), report);
 
+        List<ScheduleEntry> schedule;
         try {
-            List<Order> orders = Orders.parse(Files.readString(Path.of(ordersFilePath)));
-            Store store = Store.parse(Files.readString(Path.of(storeFilePath)));
+            // The JSON input is converted once, later runs load the snapshot without parsing it again
+            if (args.length == 4 && args[0].equals("convert")) {
+                readJson(args[1], args[2]).write(Path.of(args[3]));
+                return;
+            }
+            // Synthetic input files of the given size, see InstanceSettings.defaults
+            if (args.length == 5 && args[0].equals("generate")) {
+                InstanceGenerator generator;
+                try {
+                    generator = new InstanceGenerator(
+                            InstanceSettings.defaults(Integer.parseInt(args[1]), Integer.parseInt(args[2])));
+                } catch (IllegalArgumentException e) {
+                    printUsage();
+                    return;
+                }
+                generator.writeStore(Path.of(args[3]));
+                generator.writeOrders(Path.of(args[4]));
+                return;
+            }
+
+            long parseStart = System.nanoTime();
+            Snapshot snapshot;
+            if (args.length == 2) {
+                snapshot = readJson(args[0], args[1]);
+            } else if (args.length == 1) {
+                snapshot = Snapshot.read(Path.of(args[0]));
+            } else {
+                printUsage();
+                return;
+            }
+            listener.phaseCompleted("Main", "parse", Duration.ofNanos(System.nanoTime() - parseStart));
+
             Scheduler combinedScheduler = new CombinedScheduler(OPTIMIZATION_CRITERIA);
-            List<ScheduleEntry> schedule = combinedScheduler.calculateSchedule(orders, store, TIME_LIMIT_IN_SECONDS);
-            schedule.forEach(System.out::println);
+            schedule = combinedScheduler.calculateSchedule(snapshot.orders(), snapshot.store(), deadline,
+                    new IncumbentHolder(OPTIMIZATION_CRITERIA, listener, relativeGapLimit));
         } catch (IOException e) {
             System.err.println("Error reading input files: " + e.getMessage());
+            return;
         }
+
+        long writeStart = System.nanoTime();
+        try (ScheduleWriter writer = outputPath == null
+                ? ScheduleWriter.toStandardOutput(outputFormat)
+                : ScheduleWriter.toFile(outputPath, outputFormat)) {
+            writer.writeAll(schedule);
+        } catch (IOException e) {
+            System.err.println("Error writing schedule: " + e.getMessage());
+        }
+        listener.phaseCompleted("Main", "write", Duration.ofNanos(System.nanoTime() - writeStart));
+
+        // Written after the schedule, so it does not take from the time limit
+        if (report != null) {
+            try {
+                report.write(reportPath);
+            } catch (IOException e) {
+                System.err.println("Error writing report: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -jar <jar_file_path> [options] <store_file_path> <orders_file_path>");
+        System.out.println("       java -jar <jar_file_path> [options] <snapshot_file_path>");
+        System.out.println("       java -jar <jar_file_path> convert <store_file_path> <orders_file_path> <snapshot_file_path>");
+        System.out.println("       java -jar <jar_file_path> generate <orders> <pickers> <store_file_path> <orders_file_path>");
+        System.out.println("       java -jar <jar_file_path> serve [port] (POST {\"store\": ..., \"orders\": [...]} to /schedule)");
+        System.out.println("Options: --format=text|csv|json|binary (default text), --output=<schedule_file_path> (default stdout),");
+        System.out.println("         --report=<telemetry_report_file_path> (JSON solver metrics, default none),");
+        System.out.println("         --gap=<relative_gap> (stop once the schedule is within this gap of the upper bound, default 0)");
+    }
+
+    private static Snapshot readJson(String storeFilePath, String ordersFilePath) throws IOException {
+        Store store = Store.parse(Files.readString(Path.of(storeFilePath)));
+        OrderTable orders = OrderTable.read(Path.of(ordersFilePath));
+        return new Snapshot(store, orders);
     }
 }
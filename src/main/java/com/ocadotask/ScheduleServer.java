@@ -0,0 +1,295 @@
+package com.ocadotask;
+
+import com.ocadotask.algorithm.CombinedScheduler;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.JfrSchedulerListener;
+import com.ocadotask.algorithm.Scheduler;
+import com.ocadotask.algorithm.SchedulerListener;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.OrdersReader;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.ScheduleFormat;
+import com.ocadotask.data.ScheduleWriter;
+import com.ocadotask.data.Snapshot;
+import com.ocadotask.data.Store;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Resident scheduling service, so that a run doesn't pay for JVM startup, loading the or-tools native libraries and JIT
+// warm-up. The schedulers are created once and warmed up on a small problem before the server accepts requests.
+//
+// POST /schedule with {"store": {...}, "orders": [...]} in the same format as the input files returns the schedule.
+// Optional query parameters: timeLimit (seconds, counted from the arrival of the request, so including the time spent
+// in the queue), criteria (maximize_count or maximize_value), format (text, csv, json or binary) and gap (the solve
+// stops once the schedule is within this relative gap of the upper bound, 0 by default).
+//
+// At most maxConcurrentSolves problems are solved at a time, up to maxQueuedRequests more wait for a free slot in
+// arrival order and further requests are rejected with 503 right away, before their body is read. The orders are
+// streamed into an OrderTable, without a JSON DOM of the whole request.
+public class ScheduleServer {
+
+    // Kept for writing the response after the search
+    private static final Duration RESPONSE_RESERVE = Duration.ofMillis(200);
+    private static final int MAX_TIME_LIMIT_IN_SECONDS = 3600;
+    private static final int WARM_UP_TIME_LIMIT_IN_SECONDS = 1;
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor solveExecutor;
+    private final ExecutorService requestExecutor;
+    // A permit is held by every admitted request, from before its body is read until its response is written
+    private final Semaphore admissions;
+    private final Map<SchedulerOptimizationCriteria, Scheduler> schedulers =
+            new EnumMap<>(SchedulerOptimizationCriteria.class);
+    // Request parsing and every solve are reported as JFR events, recorded when the server runs with a recording
+    private final SchedulerListener listener = new JfrSchedulerListener();
+
+    public ScheduleServer(InetSocketAddress address, int maxConcurrentSolves, int maxQueuedRequests) throws IOException {
+        if (maxConcurrentSolves < 1 || maxQueuedRequests < 0) {
+            throw new IllegalArgumentException("Invalid limits: " + maxConcurrentSolves + " concurrent solves, "
+                    + maxQueuedRequests + " queued requests");
+        }
+        for (SchedulerOptimizationCriteria criteria : SchedulerOptimizationCriteria.values()) {
+            schedulers.put(criteria, new CombinedScheduler(criteria));
+        }
+        // An array queue can't have capacity zero, a synchronous handoff rejects everything above the running solves
+        BlockingQueue<Runnable> queue = maxQueuedRequests == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(maxQueuedRequests);
+        solveExecutor = new ThreadPoolExecutor(maxConcurrentSolves, maxConcurrentSolves, 0, TimeUnit.MILLISECONDS, queue,
+                runnable -> new Thread(runnable, "schedule-solver"));
+        admissions = new Semaphore(maxConcurrentSolves + maxQueuedRequests);
+        // Request threads only parse, wait for the solve and write the response: one for every admitted request and one
+        // more that turns away the others. Connections above that wait for a thread, with their body not read yet.
+        requestExecutor = Executors.newFixedThreadPool(maxConcurrentSolves + maxQueuedRequests + 1,
+                runnable -> new Thread(runnable, "schedule-request"));
+
+        server = HttpServer.create(address, 0);
+        server.createContext("/schedule", this::handleSchedule);
+        server.setExecutor(requestExecutor);
+    }
+
+    public void start() {
+        warmUp();
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        solveExecutor.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    // Runs every scheduler once on a small problem, so that the first request doesn't pay for class loading and JIT
+    private void warmUp() {
+        List<Picker> pickers = List.of(new Picker("P1"), new Picker("P2"));
+        Store store = new Store(pickers, LocalTime.of(9, 0), LocalTime.of(11, 0));
+        OrderTable.Builder builder = OrderTable.builder();
+        for (int index = 0; index < 20; index++) {
+            builder.add(new Order("order-" + index, BigDecimal.valueOf(index), Duration.ofMinutes(5 + index % 4 * 5),
+                    LocalTime.of(9, 30).plusMinutes(index * 5L)));
+        }
+        OrderTable orders = builder.build();
+        for (Map.Entry<SchedulerOptimizationCriteria, Scheduler> entry : schedulers.entrySet()) {
+            entry.getValue().calculateSchedule(orders, store, Instant.now().plusSeconds(WARM_UP_TIME_LIMIT_IN_SECONDS),
+                    new IncumbentHolder(entry.getKey()));
+        }
+    }
+
+    private void handleSchedule(HttpExchange exchange) throws IOException {
+        Instant received = Instant.now();
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Only POST is supported");
+                return;
+            }
+            if (!admissions.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Too many requests");
+                return;
+            }
+            try {
+                schedule(exchange, received);
+            } finally {
+                admissions.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void schedule(HttpExchange exchange, Instant received) throws IOException {
+        Store store;
+        OrderTable orders;
+        SchedulerOptimizationCriteria criteria;
+        ScheduleFormat format;
+        double relativeGapLimit;
+        Instant deadline;
+        try {
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            int timeLimitInSeconds = Integer.parseInt(parameters.getOrDefault("timeLimit",
+                    String.valueOf(Main.TIME_LIMIT_IN_SECONDS)));
+            if (timeLimitInSeconds < 1 || timeLimitInSeconds > MAX_TIME_LIMIT_IN_SECONDS) {
+                throw new IllegalArgumentException("Time limit out of range: " + timeLimitInSeconds);
+            }
+            criteria = parameters.containsKey("criteria")
+                    ? SchedulerOptimizationCriteria.valueOf(parameters.get("criteria").toUpperCase(Locale.ROOT))
+                    : Main.OPTIMIZATION_CRITERIA;
+            format = parameters.containsKey("format")
+                    ? ScheduleFormat.valueOf(parameters.get("format").toUpperCase(Locale.ROOT))
+                    : ScheduleFormat.TEXT;
+            relativeGapLimit = Double.parseDouble(parameters.getOrDefault("gap", "0"));
+            if (!(relativeGapLimit >= 0)) {
+                throw new IllegalArgumentException("Gap out of range: " + relativeGapLimit);
+            }
+            deadline = received.plusSeconds(timeLimitInSeconds).minus(RESPONSE_RESERVE);
+
+            Snapshot request = readRequest(new JSONTokener(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)));
+            store = request.store();
+            orders = request.orders();
+            listener.phaseCompleted("ScheduleServer", "parse", Duration.between(received, Instant.now()));
+        } catch (RuntimeException e) {
+            // Malformed JSON, missing fields, unparsable times or unknown parameter values
+            sendError(exchange, 400, "Invalid request: " + e.getMessage());
+            return;
+        }
+
+        Scheduler scheduler = schedulers.get(criteria);
+        Future<List<ScheduleEntry>> solve;
+        try {
+            solve = solveExecutor.submit(() -> scheduler.calculateSchedule(orders, store, deadline,
+                    new IncumbentHolder(criteria, listener, relativeGapLimit)));
+        } catch (RejectedExecutionException e) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendError(exchange, 503, "Too many requests");
+            return;
+        }
+
+        List<ScheduleEntry> schedule;
+        try {
+            schedule = solve.get();
+        } catch (InterruptedException e) {
+            solve.cancel(true);
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server is stopping");
+            return;
+        } catch (ExecutionException e) {
+            sendError(exchange, 500, "Scheduling failed: " + e.getCause());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", contentType(format));
+        exchange.sendResponseHeaders(200, 0);
+        try (ScheduleWriter writer = ScheduleWriter.toStream(exchange.getResponseBody(), format)) {
+            writer.writeAll(schedule);
+        }
+    }
+
+    // {"store": {...}, "orders": [...]} with the fields in any order, other fields are skipped. The orders are added to
+    // the table one by one, see OrdersReader.readTable(JSONTokener).
+    private static Snapshot readRequest(JSONTokener tokener) {
+        if (tokener.nextClean() != '{') {
+            throw tokener.syntaxError("A JSONObject text must begin with '{'");
+        }
+        Store store = null;
+        OrderTable orders = null;
+        char next = tokener.nextClean();
+        if (next != '}') {
+            tokener.back();
+            do {
+                if (tokener.nextClean() != '"') {
+                    throw tokener.syntaxError("Expected a key");
+                }
+                String key = tokener.nextString('"');
+                if (tokener.nextClean() != ':') {
+                    throw tokener.syntaxError("Expected a ':' after a key");
+                }
+                switch (key) {
+                    case "store" -> store = Store.parse(new JSONObject(tokener));
+                    case "orders" -> orders = OrdersReader.readTable(tokener);
+                    default -> tokener.nextValue();
+                }
+                next = tokener.nextClean();
+            } while (next == ',');
+            if (next != '}') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+        if (store == null || orders == null) {
+            throw new JSONException("Missing field: " + (store == null ? "store" : "orders"));
+        }
+        return new Snapshot(store, orders);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+
+    private static String contentType(ScheduleFormat format) {
+        return switch (format) {
+            case TEXT -> "text/plain; charset=utf-8";
+            case CSV -> "text/csv; charset=utf-8";
+            case JSON -> "application/json";
+            case BINARY -> "application/octet-stream";
+        };
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Parameter without value: " + parameter);
+            }
+            parameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
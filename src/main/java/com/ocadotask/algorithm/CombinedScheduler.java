@@ -1,74 +1,221 @@
 package com.ocadotask.algorithm;
 
 import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
 
+// Runs a portfolio of schedulers chosen by the size of the instance in parallel, see calculateBestSchedule
 public class CombinedScheduler implements Scheduler {
 
-    private final List<Scheduler> schedulers;
+    // Schedulers are asked to finish this much earlier, so their final schedules are normally offered by the deadline
+    private static final Duration SCHEDULER_DEADLINE_MARGIN = Duration.ofMillis(100);
+    // Measured on generated instances (InstanceGenerator) with a single core: from about 500 orders on the default
+    // encoding stops improving early, while the memetic algorithm keeps improving (the default encoding can't hold more
+    // than 46,340 orders at all), and CP-SAT stops finding improvements once its model has more than about 4,000
+    // optional intervals (orders times pickers) per core
+    private static final int MEMETIC_MIN_ORDERS = 500;
+    private static final long CP_SAT_MAX_INTERVALS_PER_CORE = 4_000;
+    // A scheduler that finishes at least this long before the deadline hands its thread to another genetic run
+    private static final Duration MIN_REALLOCATED_TIME = Duration.ofSeconds(1);
+    // Shared by all instances, so that threads are reused between calls. Daemon threads don't keep the JVM alive
+    // after a run that returned at the deadline, while cancelled schedulers are still winding down.
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "combined-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final SchedulerOptimizationCriteria criteria;
+    private final ExecutorService executorService;
+    // Null without or-tools
+    private final Scheduler cpSatScheduler;
+    private final Scheduler geneticScheduler;
+    private final Scheduler memeticScheduler;
+    private final Scheduler greedyScheduler;
 
     public CombinedScheduler(SchedulerOptimizationCriteria criteria) {
-        this.schedulers = new LinkedList<>();
+        this(criteria, SHARED_EXECUTOR);
+    }
+
+    // The executor needs a thread per scheduler (three at a time) and one for the upper bound, it is not shut down by
+    // the scheduler
+    public CombinedScheduler(SchedulerOptimizationCriteria criteria, ExecutorService executorService) {
         this.criteria = criteria;
+        this.executorService = executorService;
 
+        Scheduler cpSatScheduler = null;
         try {
-            Scheduler cpSatScheduler = new CpSatScheduler(criteria);
-            schedulers.add(cpSatScheduler);
+            cpSatScheduler = new CpSatScheduler(criteria);
         } catch (RuntimeException e) {
             // We can proceed without or-tools (no native library for this platform)
         }
+        this.cpSatScheduler = cpSatScheduler;
 
-        schedulers.add(new GeneticScheduler(criteria));
+        this.geneticScheduler = new GeneticScheduler(criteria);
+        this.memeticScheduler = new GeneticScheduler(criteria, GeneticSchedulerSettings.memetic());
+        // Finishes in milliseconds, so there is always a reasonable schedule to fall back to
+        this.greedyScheduler = new GreedyScheduler(criteria);
     }
 
     @Override
     public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds) {
-        // Since we are using a time limit, we have to create a thread for each scheduler
-        ExecutorService executorService = Executors.newCachedThreadPool();
-        List<Future<List<ScheduleEntry>>> futures = new LinkedList<>();
-        for (Scheduler scheduler : schedulers) {
-            // orders and store are immutable, so we can safely pass them to the scheduler
-            futures.add(executorService.submit(() -> scheduler.calculateSchedule(orders, store, timeLimitInSeconds)));
-        }
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), new IncumbentHolder(criteria));
+    }
+
+    // The seeds are offered to the incumbents before the portfolio starts, see the deadline variant
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 List<List<ScheduleEntry>> seedSchedules) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), new IncumbentHolder(criteria),
+                seedSchedules);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), new IncumbentHolder(criteria));
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
 
-        List<ScheduleEntry> bestSchedule = List.of();
-        double bestFitness = Double.NEGATIVE_INFINITY;
-        for (Future<List<ScheduleEntry>> future : futures) {
-            try {
-                List<ScheduleEntry> schedule = future.get();
-                double fitness = calculateCommonFitness(schedule);
-                if (fitness > bestFitness) {
-                    bestFitness = fitness;
-                    bestSchedule = schedule;
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
+
+    // All schedulers share the incumbents, so subscribers see the best schedule of any of them as soon as it is found
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, deadline, incumbents, List.of());
+    }
+
+    // The seeds are offered before the portfolio starts, and every scheduler gets them as well
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents, List<List<ScheduleEntry>> seedSchedules) {
+        seedSchedules.forEach(incumbents::offer);
+        // Every scheduler gets the reduced instance, orders that can't be picked in time are removed only once
+        List<Order> feasibleOrders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        Instant schedulerDeadline = deadline.minus(SCHEDULER_DEADLINE_MARGIN);
+        return calculateBestSchedule(feasibleOrders.size(), orders.size() - feasibleOrders.size(), store.pickers().size(),
+                deadline, incumbents,
+                scheduler -> scheduler.calculateSchedule(feasibleOrders, store, schedulerDeadline, incumbents, seedSchedules),
+                () -> UpperBound.of(feasibleOrders, store, criteria),
+                () -> OrderPreprocessor.countDominatedOrders(feasibleOrders, store, criteria));
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        OrderTable feasibleOrders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        Instant schedulerDeadline = deadline.minus(SCHEDULER_DEADLINE_MARGIN);
+        return calculateBestSchedule(feasibleOrders.size(), orders.size() - feasibleOrders.size(), store.pickers().size(),
+                deadline, incumbents,
+                scheduler -> scheduler.calculateSchedule(feasibleOrders, store, schedulerDeadline, incumbents),
+                () -> UpperBound.of(feasibleOrders, store, criteria),
+                () -> OrderPreprocessor.countDominatedOrders(feasibleOrders, store, criteria));
+    }
+
+    // The portfolio is CP-SAT, the genetic algorithm (memetic for larger instances) and the greedy fallback. When the
+    // CP-SAT model would be too large to be solved in time, a second, independent run of the genetic algorithm takes
+    // its place. CP-SAT ends the run early once it proves its schedule optimal, and a scheduler other than the greedy
+    // one that finishes well before the deadline hands its thread to one more genetic run, which starts from the
+    // incumbent. Those runs are not replaced, so the genetic algorithm isn't restarted over and over on instances it
+    // has already converged on.
+    // The upper bound is computed alongside the schedulers, once it is known an incumbent that reaches it (often already
+    // the greedy schedule of an easy instance) or gets within the gap limit of the incumbents ends the run. The
+    // dominated orders are only counted for the listener, after the bound.
+    // Returns by the deadline: schedulers that are still running then are cancelled and not waited for, the best
+    // schedule offered so far is returned and reported to the listener with the scheduler that found it
+    private List<ScheduleEntry> calculateBestSchedule(int numOrders, int numInfeasibleOrders, int numPickers,
+                                                      Instant deadline, IncumbentHolder incumbents,
+                                                      Function<Scheduler, List<ScheduleEntry>> calculateSchedule,
+                                                      DoubleSupplier upperBound, IntSupplier dominatedOrders) {
+        Scheduler genetic = numOrders >= MEMETIC_MIN_ORDERS ? memeticScheduler : geneticScheduler;
+        Scheduler exact = cpSatScheduler != null && (long) numOrders * numPickers
+                <= CP_SAT_MAX_INTERVALS_PER_CORE * Runtime.getRuntime().availableProcessors() ? cpSatScheduler : genetic;
+
+        // orders and store are immutable, so we can safely pass them to the schedulers
+        CompletionService<Scheduler> completionService = new ExecutorCompletionService<>(executorService);
+        Set<Future<Scheduler>> reallocatable = new HashSet<>();
+        reallocatable.add(completionService.submit(() -> run(exact, calculateSchedule)));
+        reallocatable.add(completionService.submit(() -> run(genetic, calculateSchedule)));
+        completionService.submit(() -> run(greedyScheduler, calculateSchedule));
+        int running = 3;
+        Future<?> analysis = executorService.submit(() -> {
+            if (isOver(incumbents, deadline)) {
+                return;
+            }
+            long start = System.nanoTime();
+            double bound = upperBound.getAsDouble();
+            incumbents.listener().upperBoundComputed(name(), bound, Duration.ofNanos(System.nanoTime() - start));
+            incumbents.setUpperBound(bound);
+            if (isOver(incumbents, deadline)) {
+                return;
+            }
+            incumbents.listener().ordersPreprocessed(name(), numOrders, numInfeasibleOrders, dominatedOrders.getAsInt());
+        });
+
+        // Every scheduler offers its final schedule, so once all have finished the incumbent is the best of them
+        try {
+            while (running > 0) {
+                Future<Scheduler> finished = completionService.poll(
+                        Math.max(0, Duration.between(Instant.now(), deadline).toNanos()), TimeUnit.NANOSECONDS);
+                if (finished == null) {
+                    // Best so far
+                    break;
+                }
+                running--;
+                finished.get();
+                if (reallocatable.contains(finished) && !incumbents.isCancelled()
+                        && Duration.between(Instant.now(), deadline).compareTo(MIN_REALLOCATED_TIME) >= 0) {
+                    completionService.submit(() -> run(genetic, calculateSchedule));
+                    running++;
                 }
-            } catch (ExecutionException | InterruptedException e) {
-                throw new RuntimeException("Error while executing scheduler", e);
             }
+        } catch (ExecutionException | InterruptedException e) {
+            throw new RuntimeException("Error while executing scheduler", e);
+        } finally {
+            incumbents.cancel();
+            // Not started yet or between its steps, a step that is already running finishes on its own
+            analysis.cancel(true);
         }
 
-        executorService.shutdown();
-
-        return bestSchedule;
+        Optional<Incumbent> best = incumbents.best();
+        best.ifPresent(incumbent -> incumbents.listener().scheduleSelected(incumbent.scheduler(), incumbent.fitness(),
+                incumbents.elapsed()));
+        return best.map(Incumbent::schedule).orElse(List.of());
     }
 
-    private double calculateCommonFitness(List<ScheduleEntry> schedule) {
-        double fitness = 0;
-        for (ScheduleEntry entry : schedule) {
-            fitness += switch (criteria) {
-                case MAXIMIZE_COUNT -> 1;
-                case MAXIMIZE_VALUE -> entry.order().value().doubleValue();
-            };
-        }
-        return fitness;
+    private static boolean isOver(IncumbentHolder incumbents, Instant deadline) {
+        return incumbents.isCancelled() || !Instant.now().isBefore(deadline) || Thread.currentThread().isInterrupted();
     }
 
+    private static Scheduler run(Scheduler scheduler, Function<Scheduler, List<ScheduleEntry>> calculateSchedule) {
+        calculateSchedule.apply(scheduler);
+        return scheduler;
+    }
 }
@@ -0,0 +1,87 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Chromosome;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.RandomRegistry;
+
+import java.util.random.RandomGenerator;
+
+// Chromosome backed by two primitive arrays instead of one object per gene:
+// 1. pickerAssignment - i-th position is an index of the picker assigned to the order at position i of orderSequence
+// 2. orderSequence - permutation of integers from 0 to orders.size() - 1, the sequence in which orders are picked
+// Both arrays are never modified after construction, alterers always create new arrays.
+final class CompactScheduleChromosome implements Chromosome<CompactScheduleGene> {
+
+    private final int[] pickerAssignment;
+    private final int[] orderSequence;
+    private final int numPickers;
+
+    CompactScheduleChromosome(int[] pickerAssignment, int[] orderSequence, int numPickers) {
+        if (pickerAssignment.length != orderSequence.length) {
+            throw new IllegalArgumentException("Picker assignment and order sequence must have the same length");
+        }
+        this.pickerAssignment = pickerAssignment;
+        this.orderSequence = orderSequence;
+        this.numPickers = numPickers;
+    }
+
+    static CompactScheduleChromosome random(int numOrders, int numPickers) {
+        RandomGenerator random = RandomRegistry.random();
+        int[] pickerAssignment = new int[numOrders];
+        int[] orderSequence = new int[numOrders];
+        for (int position = 0; position < numOrders; position++) {
+            pickerAssignment[position] = random.nextInt(numPickers);
+            // Inside-out Fisher-Yates shuffle
+            int swapPosition = random.nextInt(position + 1);
+            orderSequence[position] = orderSequence[swapPosition];
+            orderSequence[swapPosition] = position;
+        }
+        return new CompactScheduleChromosome(pickerAssignment, orderSequence, numPickers);
+    }
+
+    // Callers must not modify the returned arrays
+    int[] pickerAssignment() {
+        return pickerAssignment;
+    }
+
+    int[] orderSequence() {
+        return orderSequence;
+    }
+
+    int numPickers() {
+        return numPickers;
+    }
+
+    @Override
+    public CompactScheduleGene get(int index) {
+        return new CompactScheduleGene(pickerAssignment[index], orderSequence[index], numPickers);
+    }
+
+    @Override
+    public int length() {
+        return orderSequence.length;
+    }
+
+    // The engine validates the whole population in every generation. The compact alterers preserve the permutation
+    // by construction, so a full O(n) check (that would also allocate) is not needed here.
+    @Override
+    public boolean isValid() {
+        return pickerAssignment.length == orderSequence.length;
+    }
+
+    @Override
+    public Chromosome<CompactScheduleGene> newInstance(ISeq<CompactScheduleGene> genes) {
+        int[] newPickerAssignment = new int[genes.length()];
+        int[] newOrderSequence = new int[genes.length()];
+        for (int position = 0; position < genes.length(); position++) {
+            newPickerAssignment[position] = genes.get(position).pickerIndex();
+            newOrderSequence[position] = genes.get(position).orderIndex();
+        }
+        return new CompactScheduleChromosome(newPickerAssignment, newOrderSequence, numPickers);
+    }
+
+    @Override
+    public Chromosome<CompactScheduleGene> newInstance() {
+        return random(orderSequence.length, numPickers);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Alterer;
+import io.jenetics.Genotype;
+
+// Genotype with a single CompactScheduleChromosome. A population of 100 over 50k orders holds 200 int arrays
+// instead of ~10M gene objects, and the fitness function reads the arrays without decoding.
+class CompactScheduleEncoding implements ScheduleEncoding<CompactScheduleGene> {
+
+    private final int numOrders;
+    private final int numPickers;
+
+    CompactScheduleEncoding(int numOrders, int numPickers) {
+        this.numOrders = numOrders;
+        this.numPickers = numPickers;
+    }
+
+    @Override
+    public int numOrders() {
+        return numOrders;
+    }
+
+    @Override
+    public Genotype<CompactScheduleGene> genotypeFactory() {
+        return Genotype.of(CompactScheduleChromosome.random(numOrders, numPickers));
+    }
+
+    @Override
+    public Alterer<CompactScheduleGene, Double> defaultMutator(double probability) {
+        return new ScheduleMutator<>(this, MutationOperator.SWAP, numPickers, probability);
+    }
+
+    @Override
+    public Alterer<CompactScheduleGene, Double> defaultCrossover(double probability) {
+        return new ScheduleCrossover<>(this, CrossoverOperator.ORDER, probability);
+    }
+
+    @Override
+    public void decode(Genotype<CompactScheduleGene> genotype, int[] pickerAssignment, int[] orderSequence) {
+        CompactScheduleChromosome chromosome = (CompactScheduleChromosome) genotype.chromosome();
+        System.arraycopy(chromosome.pickerAssignment(), 0, pickerAssignment, 0, numOrders);
+        System.arraycopy(chromosome.orderSequence(), 0, orderSequence, 0, numOrders);
+    }
+
+    @Override
+    public Genotype<CompactScheduleGene> encode(int[] pickerAssignment, int[] orderSequence) {
+        return Genotype.of(new CompactScheduleChromosome(pickerAssignment, orderSequence, numPickers));
+    }
+
+    @Override
+    public double evaluate(Genotype<CompactScheduleGene> genotype, FitnessEvaluator evaluator, int[] pickerAssignment, int[] orderSequence) {
+        CompactScheduleChromosome chromosome = (CompactScheduleChromosome) genotype.chromosome();
+        return evaluator.evaluate(chromosome.pickerAssignment(), chromosome.orderSequence());
+    }
+}
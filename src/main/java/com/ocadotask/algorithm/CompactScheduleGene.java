@@ -0,0 +1,30 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Gene;
+import io.jenetics.util.RandomRegistry;
+
+// A view of a single position of CompactScheduleChromosome. Genes are only created on demand (e.g. by toString),
+// the engine and the compact alterers work directly on the chromosome arrays.
+record CompactScheduleGene(int pickerIndex, int orderIndex, int numPickers) implements Gene<CompactScheduleGene, CompactScheduleGene> {
+
+    @Override
+    public CompactScheduleGene allele() {
+        return this;
+    }
+
+    // The order index can't be changed without breaking the permutation, so only the picker is randomized
+    @Override
+    public CompactScheduleGene newInstance() {
+        return new CompactScheduleGene(RandomRegistry.random().nextInt(numPickers), orderIndex, numPickers);
+    }
+
+    @Override
+    public CompactScheduleGene newInstance(CompactScheduleGene value) {
+        return value;
+    }
+
+    @Override
+    public boolean isValid() {
+        return pickerIndex >= 0 && pickerIndex < numPickers && orderIndex >= 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ocadotask.algorithm;
+
+public enum CpSatModel {
+    // Optional interval for every (order, picker) pair, no overlap per picker
+    PER_PICKER,
+    // Optional interval for every order, at most numPickers orders picked at the same time, pickers are assigned
+    // after solving. Pickers are interchangeable, so the model is numPickers times smaller without losing solutions.
+    CUMULATIVE
+}
@@ -3,22 +3,41 @@ package com.ocadotask.algorithm;
 import com.google.ortools.Loader;
 import com.google.ortools.sat.*;
 import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 public class CpSatScheduler implements Scheduler {
 
     private final SchedulerOptimizationCriteria criteria;
+    private final CpSatSchedulerSettings settings;
     private static final int MAX_VALUE_DECIMALS_MULTIPLIER = 100;
     private static final int PROBLEM_SIZE_THRESHOLD = 1_000;
+    // Below this limit the solver rarely finds anything for a window, which is then dispatched greedily
+    private static final double MIN_WINDOW_TIME_LIMIT_IN_SECONDS = 1.0;
+    // Every restart throws away what the solver has learned, so it has to be given some time to use a new hint
+    private static final double MIN_RESTART_INTERVAL_IN_SECONDS = 1.0;
 
     public CpSatScheduler(SchedulerOptimizationCriteria criteria) {
+        this(criteria, CpSatSchedulerSettings.defaults());
+    }
+
+    public CpSatScheduler(SchedulerOptimizationCriteria criteria, CpSatSchedulerSettings settings) {
         switch (criteria) {
             case MAXIMIZE_COUNT, MAXIMIZE_VALUE -> {
                 this.criteria = criteria;
@@ -27,6 +46,7 @@ public class CpSatScheduler implements Scheduler {
                 throw new IllegalArgumentException("Unknown criteria: " + criteria);
             }
         }
+        this.settings = settings;
 
         try {
             Loader.loadNativeLibraries();
@@ -37,90 +57,673 @@ public class CpSatScheduler implements Scheduler {
 
     @Override
     public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds) {
+        return calculateSchedule(orders, store, timeLimitInSeconds, List.of());
+    }
+
+    // The best seed schedule is passed to the solver as a hint (warm start)
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 List<List<ScheduleEntry>> seedSchedules) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), seedSchedules, null);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders.toOrders(), store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
+
+    // Every solution of a single model is offered as soon as the solver finds it, and better incumbents of other
+    // schedulers restart the search from them. With the rolling horizon only the final schedule is offered, a cancelled
+    // search dispatches the remaining orders greedily.
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, deadline, incumbents, List.of());
+    }
+
+    // The best seed schedule is the first hint
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents, List<List<ScheduleEntry>> seedSchedules) {
+        seedSchedules.forEach(incumbents::offer);
+        List<ScheduleEntry> schedule = calculateSchedule(orders, store, deadline, seedSchedules, incumbents);
+        incumbents.offer(schedule, name());
+        return schedule;
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders.toOrders(), store, deadline, incumbents);
+    }
+
+    // incumbents is null when nobody waits for intermediate schedules.
+    // Internally the deadline is a System.nanoTime value, which doesn't jump when the wall clock is adjusted.
+    private List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                  List<List<ScheduleEntry>> seedSchedules, IncumbentHolder incumbents) {
+        long nanoDeadline = System.nanoTime() + Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+
+        // Orders that can't be picked in time would only enlarge the model
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+
+        int[] hintedPickers = null;
+        long[] hintedStartTimes = null;
+        if (!seedSchedules.isEmpty()) {
+            hintedPickers = new int[orders.size()];
+            hintedStartTimes = new long[orders.size()];
+            createHint(orders, store, seedSchedules, hintedPickers, hintedStartTimes);
+        }
+
         // The problem is too large to be solved in a reasonable amount of time using Constraint Programming
         // We have a time limit, but we might not be able to create a model in time
         // This limit could be increased, but I have no idea on what hardware the code will be run
+        // Larger problems are solved as a sequence of smaller models (rolling horizon), unless it is disabled
         if (orders.size() > PROBLEM_SIZE_THRESHOLD) {
+            if (settings.windowSize() == 0) {
+                return List.of();
+            }
+            return calculateRollingHorizonSchedule(orders, store, nanoDeadline, hintedPickers, hintedStartTimes, incumbents);
+        }
+
+        int numOrders = orders.size();
+        int numPickers = store.pickers().size();
+
+        int[] orderIndices = new int[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            orderIndices[orderIndex] = orderIndex;
+        }
+        long[] pickerFreeTimes = new long[numPickers];
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerFreeTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+        }
+
+        if (incumbents != null) {
+            return calculateCooperativeSchedule(orders, store, orderIndices, pickerFreeTimes, nanoDeadline,
+                    hintedPickers, hintedStartTimes, incumbents);
+        }
+
+        int[] assignedPickers = new int[numOrders];
+        long[] startTimes = new long[numOrders];
+        if (!isSolved(solve(orders, store, orderIndices, numOrders, pickerFreeTimes, nanoDeadline, hintedPickers,
+                hintedStartTimes, assignedPickers, startTimes, null, null, null))) {
             return List.of();
         }
+        return createSchedule(orders, store, assignedPickers, startTimes);
+    }
 
-        CpModel model = new CpModel();
+    // Solutions are offered as soon as the solver finds them. Without seeds, the current incumbent is the first hint.
+    // An incumbent of another scheduler that beats the solver's own best solution stops the search, which is restarted
+    // with that incumbent as the hint, so the solver improves on the best known schedule instead of rediscovering it.
+    // Improvements that arrive while no search is running, or less than MIN_RESTART_INTERVAL_IN_SECONDS after it
+    // started, are left for the next one.
+    // A search that proves its solution optimal on an exact model ends the whole run, see IncumbentHolder.offerOptimal.
+    private List<ScheduleEntry> calculateCooperativeSchedule(List<Order> orders, Store store, int[] orderIndices,
+                                                             long[] pickerFreeTimes, long deadline,
+                                                             int[] hintedPickers, long[] hintedStartTimes,
+                                                             IncumbentHolder incumbents) {
+        int numOrders = orders.size();
+        int[] assignedPickers = new int[numOrders];
+        long[] startTimes = new long[numOrders];
+
+        // The own best solution is set before it is offered, so the solver is never restarted by its own solutions
+        AtomicReference<Incumbent> ownBest = new AtomicReference<>();
+        Runnable solutionFound = () -> {
+            List<ScheduleEntry> schedule = createSchedule(orders, store, assignedPickers, startTimes);
+            ownBest.accumulateAndGet(new Incumbent(schedule, incumbents.fitness(schedule), name()),
+                    (best, other) -> best == null || other.fitness() > best.fitness() ? other : best);
+            incumbents.offer(schedule, name());
+        };
+
+        AtomicReference<Runnable> runningSearch = new AtomicReference<>();
+        AtomicLong searchStart = new AtomicLong();
+        AtomicBoolean restartRequested = new AtomicBoolean();
+        Consumer<Incumbent> restartOnImprovement = incumbent -> {
+            Incumbent own = ownBest.get();
+            Runnable stopSearch = runningSearch.get();
+            if (stopSearch != null && (own == null || incumbent.fitness() > own.fitness())
+                    && System.nanoTime() - searchStart.get() >= MIN_RESTART_INTERVAL_IN_SECONDS * 1e9
+                    && restartRequested.compareAndSet(false, true)) {
+                stopSearch.run();
+            }
+        };
+
+        boolean provenOptimal = false;
+        incumbents.subscribe(restartOnImprovement);
+        try {
+            if (hintedPickers == null && incumbents.best().isPresent()) {
+                hintedPickers = new int[numOrders];
+                hintedStartTimes = new long[numOrders];
+                createHint(orders, store, List.of(incumbents.best().get().schedule()), hintedPickers, hintedStartTimes);
+            }
+            while (true) {
+                restartRequested.set(false);
+                searchStart.set(System.nanoTime());
+                CpSolverStatus status = solve(orders, store, orderIndices, numOrders, pickerFreeTimes, deadline,
+                        hintedPickers, hintedStartTimes, assignedPickers, startTimes, incumbents, solutionFound, runningSearch);
+                if (status == CpSolverStatus.OPTIMAL && settings.relativeGapLimit() == 0 && isExact(orders)) {
+                    provenOptimal = true;
+                    break;
+                }
+                if (!restartRequested.get() || incumbents.isCancelled()
+                        || deadline - System.nanoTime() < MIN_RESTART_INTERVAL_IN_SECONDS * 1e9) {
+                    break;
+                }
+                hintedPickers = new int[numOrders];
+                hintedStartTimes = new long[numOrders];
+                createHint(orders, store, List.of(incumbents.best().orElseThrow().schedule()), hintedPickers, hintedStartTimes);
+            }
+        } finally {
+            incumbents.unsubscribe(restartOnImprovement);
+        }
+
+        Incumbent own = ownBest.get();
+        if (provenOptimal && own != null) {
+            incumbents.offerOptimal(own.schedule(), name());
+        }
+        return own == null ? List.of() : own.schedule();
+    }
+
+    // The optimum of the model is an optimal schedule only if nothing was rounded. Values are in cents in the objective
+    // and in the fitness alike, so only picking times have to be whole seconds.
+    private static boolean isExact(List<Order> orders) {
+        for (Order order : orders) {
+            if (order.pickingTime().getNano() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ScheduleEntry> createSchedule(List<Order> orders, Store store, int[] assignedPickers, long[] startTimes) {
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        for (int pickerIndex = 0; pickerIndex < store.pickers().size(); pickerIndex++) {
+            for (int orderIndex = 0; orderIndex < orders.size(); orderIndex++) {
+                if (assignedPickers[orderIndex] == pickerIndex) {
+                    LocalTime startTime = LocalTime.ofSecondOfDay(startTimes[orderIndex]);
+                    schedule.add(new ScheduleEntry(store.pickers().get(pickerIndex), orders.get(orderIndex), startTime));
+                }
+            }
+        }
+        return schedule;
+    }
 
+    // Orders are taken in the order of their latest possible start. Every window holds the next windowSize orders that
+    // can still be started by some picker, its time span reaches from the earliest picker free time to the latest start
+    // of its last order. Assignments starting in the first (1 - windowOverlap) of the span are committed, pickers can't
+    // start anything earlier afterwards, the remaining orders are solved again with the next window.
+    // The time limit is split evenly between the estimated number of remaining windows. A window without a solution is
+    // dispatched greedily, and once there is no time left for another window, so are all remaining orders.
+    private List<ScheduleEntry> calculateRollingHorizonSchedule(List<Order> orders, Store store, long deadline,
+                                                                int[] hintedPickers, long[] hintedStartTimes,
+                                                                IncumbentHolder incumbents) {
         int numOrders = orders.size();
         int numPickers = store.pickers().size();
+        long pickingEndTime = store.pickingEndTime().toSecondOfDay();
 
-        BoolVar[][] isAssigned = new BoolVar[numOrders][numPickers];
-
-        // Each order can only be assigned to one picker
+        long[] latestStartTimes = new long[numOrders];
+        Integer[] sortedOrders = new Integer[numOrders];
         for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
-            List<Literal> orderVars = new ArrayList<>();
-            for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
-                isAssigned[orderIndex][pickerIndex] = model.newBoolVar("order_" + orderIndex + "_picker_" + pickerIndex + "_is_assigned");
-                orderVars.add(isAssigned[orderIndex][pickerIndex]);
+            Order order = orders.get(orderIndex);
+            latestStartTimes[orderIndex] = OrderPreprocessor.latestStartTimeInSeconds(order, store);
+            sortedOrders[orderIndex] = orderIndex;
+        }
+        // Ties are broken the same way as in GreedyScheduler, which matters for the greedily dispatched windows
+        Comparator<Integer> tieBreaker = switch (criteria) {
+            case MAXIMIZE_COUNT -> Comparator.comparing(orderIndex -> orders.get(orderIndex).pickingTime());
+            case MAXIMIZE_VALUE -> Comparator.comparingDouble(orderIndex -> -(double) orders.get(orderIndex).valueCents()
+                    / Math.max(1, orders.get(orderIndex).pickingTime().getSeconds()));
+        };
+        Arrays.sort(sortedOrders, Comparator.<Integer>comparingLong(orderIndex -> latestStartTimes[orderIndex]).thenComparing(tieBreaker));
+
+        long[] pickerFreeTimes = new long[numPickers];
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerFreeTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+        }
+
+        int windowSize = settings.windowSize();
+        int[] window = new int[numOrders];
+        int[] assignedPickers = new int[windowSize];
+        long[] startTimes = new long[windowSize];
+        // Scheduled orders and orders that can't be started by any picker anymore
+        boolean[] resolved = new boolean[numOrders];
+        int firstUnresolved = 0;
+
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        while (true) {
+            long earliestFreeTime = Arrays.stream(pickerFreeTimes).min().orElseThrow();
+            long remainingNanos = deadline - System.nanoTime();
+            boolean timeLeft = remainingNanos >= MIN_WINDOW_TIME_LIMIT_IN_SECONDS * 1e9
+                    && (incumbents == null || !incumbents.isCancelled());
+
+            // Without time left, the window takes all remaining orders
+            int windowCount = 0;
+            boolean lastWindow = true;
+            for (int position = firstUnresolved; position < numOrders; position++) {
+                int orderIndex = sortedOrders[position];
+                if (resolved[orderIndex]) {
+                    continue;
+                }
+                if (latestStartTimes[orderIndex] < earliestFreeTime) {
+                    resolved[orderIndex] = true;
+                    continue;
+                }
+                if (timeLeft && windowCount == windowSize) {
+                    lastWindow = false;
+                    break;
+                }
+                window[windowCount++] = orderIndex;
+            }
+            while (firstUnresolved < numOrders && resolved[sortedOrders[firstUnresolved]]) {
+                firstUnresolved++;
+            }
+            if (windowCount == 0) {
+                break;
+            }
+
+            long horizonEnd = latestStartTimes[window[windowCount - 1]];
+            long commitEnd = lastWindow ? Long.MAX_VALUE
+                    : Math.max(earliestFreeTime + 1, earliestFreeTime + (long) ((horizonEnd - earliestFreeTime) * (1 - settings.windowOverlap())));
+            // Windows advance through the picking window by their committed span
+            long committedSpan = Math.max(1, Math.min(commitEnd, pickingEndTime) - earliestFreeTime);
+            long remainingWindows = Math.max(1, (pickingEndTime - earliestFreeTime + committedSpan - 1) / committedSpan);
+            long windowDeadline = System.nanoTime()
+                    + (long) Math.max(MIN_WINDOW_TIME_LIMIT_IN_SECONDS * 1e9, (double) remainingNanos / remainingWindows);
+
+            if (timeLeft && isSolved(solve(orders, store, window, windowCount, pickerFreeTimes, windowDeadline,
+                    hintedPickers, hintedStartTimes, assignedPickers, startTimes, incumbents, null, null))) {
+                for (int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
+                    int pickerIndex = assignedPickers[windowIndex];
+                    if (pickerIndex >= 0 && startTimes[windowIndex] < commitEnd) {
+                        commit(orders, store, window[windowIndex], pickerIndex, startTimes[windowIndex], pickerFreeTimes, resolved, schedule);
+                    }
+                }
+                if (lastWindow) {
+                    break;
+                }
+                for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+                    pickerFreeTimes[pickerIndex] = Math.max(pickerFreeTimes[pickerIndex], commitEnd);
+                }
+            } else {
+                // Every order goes to the earliest free picker, the only one that may start it in time.
+                // Orders that can't be started are dropped, so the window is resolved as a whole.
+                for (int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
+                    int orderIndex = window[windowIndex];
+                    int pickerIndex = 0;
+                    for (int otherPickerIndex = 1; otherPickerIndex < numPickers; otherPickerIndex++) {
+                        if (pickerFreeTimes[otherPickerIndex] < pickerFreeTimes[pickerIndex]) {
+                            pickerIndex = otherPickerIndex;
+                        }
+                    }
+                    if (pickerFreeTimes[pickerIndex] <= latestStartTimes[orderIndex]) {
+                        commit(orders, store, orderIndex, pickerIndex, pickerFreeTimes[pickerIndex], pickerFreeTimes, resolved, schedule);
+                    }
+                    resolved[orderIndex] = true;
+                }
             }
-            model.addAtMostOne(orderVars);
         }
 
-        long pickingStartTime = store.pickingStartTime().toSecondOfDay();
-        long pickingEndTime = store.pickingEndTime().toSecondOfDay();
+        return schedule;
+    }
 
-        Map<String, IntervalVar> intervalMap = new HashMap<>();
+    private static void commit(List<Order> orders, Store store, int orderIndex, int pickerIndex, long startTime,
+                               long[] pickerFreeTimes, boolean[] resolved, List<ScheduleEntry> schedule) {
+        Order order = orders.get(orderIndex);
+        schedule.add(new ScheduleEntry(store.pickers().get(pickerIndex), order, LocalTime.ofSecondOfDay(startTime)));
+        pickerFreeTimes[pickerIndex] = Math.max(pickerFreeTimes[pickerIndex], startTime + order.pickingTime().getSeconds());
+        resolved[orderIndex] = true;
+    }
 
-        // Each picker can only pick one order at a time (no overlap)
+    // Model building is checked once per order, a large model may take a good part of the time limit
+    private static boolean isInterrupted(long deadline, IncumbentHolder incumbents) {
+        return System.nanoTime() - deadline >= 0 || (incumbents != null && incumbents.isCancelled());
+    }
+
+    // Matches the best seed schedule to orders and pickers by id, hintedPickers is -1 for orders it doesn't schedule
+    private void createHint(List<Order> orders, Store store, List<List<ScheduleEntry>> seedSchedules,
+                            int[] hintedPickers, long[] hintedStartTimes) {
+        List<ScheduleEntry> bestSeedSchedule = seedSchedules.get(0);
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        for (List<ScheduleEntry> seedSchedule : seedSchedules) {
+            double fitness = 0;
+            for (ScheduleEntry entry : seedSchedule) {
+                fitness += switch (criteria) {
+                    case MAXIMIZE_COUNT -> 1;
+                    case MAXIMIZE_VALUE -> entry.order().valueCents();
+                };
+            }
+            if (fitness > bestFitness) {
+                bestFitness = fitness;
+                bestSeedSchedule = seedSchedule;
+            }
+        }
+
+        Map<String, Integer> orderIndices = new HashMap<>();
+        for (int orderIndex = orders.size() - 1; orderIndex >= 0; orderIndex--) {
+            orderIndices.put(orders.get(orderIndex).id(), orderIndex);
+        }
+        Map<String, Integer> pickerIndices = new HashMap<>();
+        for (int pickerIndex = store.pickers().size() - 1; pickerIndex >= 0; pickerIndex--) {
+            pickerIndices.put(store.pickers().get(pickerIndex).id(), pickerIndex);
+        }
+
+        Arrays.fill(hintedPickers, -1);
+        for (ScheduleEntry entry : bestSeedSchedule) {
+            Integer orderIndex = orderIndices.get(entry.order().id());
+            Integer pickerIndex = pickerIndices.get(entry.picker().id());
+            if (orderIndex != null && pickerIndex != null) {
+                hintedPickers[orderIndex] = pickerIndex;
+                hintedStartTimes[orderIndex] = entry.startTime().toSecondOfDay();
+            }
+        }
+    }
+
+    // Solves the model of count orders given by orderIndices, every picker can start no earlier than its free time.
+    // Hints are optional (null), hints of an order are ignored when they don't fit the domains of its variables.
+    // On success assignedPickers and startTimes are filled for every order, -1 for orders that are not scheduled.
+    // When incumbents is given, a cancellation stops the search; solutionFound (optional) is run for every intermediate
+    // solution, right after it is filled in assignedPickers and startTimes, and runningSearch (optional) holds the stop
+    // action of the search while it runs. Returns the status of the search, UNKNOWN if it was interrupted before.
+    private CpSolverStatus solve(List<Order> orders, Store store, int[] orderIndices, int count, long[] pickerFreeTimes,
+                          long deadline, int[] hintedPickers, long[] hintedStartTimes,
+                          int[] assignedPickers, long[] startTimes, IncumbentHolder incumbents, Runnable solutionFound,
+                          AtomicReference<Runnable> runningSearch) {
+        long buildStart = System.nanoTime();
+        BuiltModel builtModel = createModel(orders, store, orderIndices, count, pickerFreeTimes, deadline,
+                hintedPickers, hintedStartTimes, assignedPickers, startTimes, incumbents);
+        if (builtModel == null) {
+            return CpSolverStatus.UNKNOWN;
+        }
+        if (incumbents != null) {
+            incumbents.listener().phaseCompleted(name(), "modelBuild", Duration.ofNanos(System.nanoTime() - buildStart));
+        }
+        return solve(builtModel.model(), deadline, builtModel.readSolution(), incumbents, solutionFound, runningSearch);
+    }
+
+    // Builds the model of the whole problem without solving it, so that model building can be measured on its own
+    CpModel createModel(List<Order> orders, Store store) {
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        int numOrders = orders.size();
+        int numPickers = store.pickers().size();
+
+        int[] orderIndices = new int[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            orderIndices[orderIndex] = orderIndex;
+        }
+        long[] pickerFreeTimes = new long[numPickers];
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerFreeTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+        }
+
+        // The deadline is never reached
+        return createModel(orders, store, orderIndices, numOrders, pickerFreeTimes, System.nanoTime() + Long.MAX_VALUE,
+                null, null, new int[numOrders], new long[numOrders], null).model();
+    }
+
+    // The model and how to read a solution of it into assignedPickers and startTimes, null if building it was interrupted
+    private BuiltModel createModel(List<Order> orders, Store store, int[] orderIndices, int count, long[] pickerFreeTimes,
+                                   long deadline, int[] hintedPickers, long[] hintedStartTimes,
+                                   int[] assignedPickers, long[] startTimes, IncumbentHolder incumbents) {
+        return switch (settings.model()) {
+            case PER_PICKER -> createPerPickerModel(orders, store, orderIndices, count, pickerFreeTimes, deadline,
+                    hintedPickers, hintedStartTimes, assignedPickers, startTimes, incumbents);
+            case CUMULATIVE -> createCumulativeModel(orders, store, orderIndices, count, pickerFreeTimes, deadline,
+                    hintedPickers, hintedStartTimes, assignedPickers, startTimes, incumbents);
+        };
+    }
+
+    private BuiltModel createPerPickerModel(List<Order> orders, Store store, int[] orderIndices, int count,
+                                            long[] pickerFreeTimes, long deadline, int[] hintedPickers,
+                                            long[] hintedStartTimes, int[] assignedPickers, long[] startTimes,
+                                            IncumbentHolder incumbents) {
+        CpModel model = new CpModel();
+
+        int numPickers = store.pickers().size();
+
+        // Pickers that can't start the order in time get no variable
+        BoolVar[][] isAssigned = new BoolVar[count][numPickers];
+        IntervalVar[][] intervals = new IntervalVar[count][numPickers];
+        List<List<IntervalVar>> pickerIntervals = new ArrayList<>(numPickers);
         for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
-            List<IntervalVar> intervals = new ArrayList<>();
+            pickerIntervals.add(new ArrayList<>());
+        }
+
+        // Each order can only be assigned to one picker
+        // Each picker can only pick one order at a time (no overlap)
+        for (int index = 0; index < count; index++) {
+            if (isInterrupted(deadline, incumbents)) {
+                return null;
+            }
+            int orderIndex = orderIndices[index];
+            Order order = orders.get(orderIndex);
+            long orderPickingTime = order.pickingTime().getSeconds();
+            long orderLatestStart = OrderPreprocessor.latestStartTimeInSeconds(order, store);
 
-            for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
-                Order order = orders.get(orderIndex);
-                long orderCompleteBy = order.completeBy().toSecondOfDay();
-                long orderPickingTime = order.pickingTime().getSeconds();
+            List<Literal> orderVars = new ArrayList<>();
+            for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+                long pickerFreeTime = pickerFreeTimes[pickerIndex];
+                if (pickerFreeTime > orderLatestStart) {
+                    continue;
+                }
+                isAssigned[index][pickerIndex] = model.newBoolVar("order_" + orderIndex + "_picker_" + pickerIndex + "_is_assigned");
+                orderVars.add(isAssigned[index][pickerIndex]);
 
-                IntVar start = model.newIntVar(pickingStartTime, orderCompleteBy - orderPickingTime,
+                IntVar start = model.newIntVar(pickerFreeTime, orderLatestStart,
                         "order_" + orderIndex + "_picker_" + pickerIndex + "_start");
-                IntVar end = model.newIntVar(pickingStartTime + orderPickingTime, Math.min(orderCompleteBy, pickingEndTime),
+                IntVar end = model.newIntVar(pickerFreeTime + orderPickingTime, orderLatestStart + orderPickingTime,
                         "order_" + orderIndex + "_picker_" + pickerIndex + "_end");
-                IntervalVar interval = model.newOptionalIntervalVar(start, model.newConstant(orderPickingTime), end, isAssigned[orderIndex][pickerIndex],
+                intervals[index][pickerIndex] = model.newOptionalIntervalVar(start, model.newConstant(orderPickingTime), end, isAssigned[index][pickerIndex],
                         "order_" + orderIndex + "_picker_" + pickerIndex + "_interval");
-                intervals.add(interval);
-                intervalMap.put("order_" + orderIndex + "_picker_" + pickerIndex + "_interval", interval);
+                pickerIntervals.get(pickerIndex).add(intervals[index][pickerIndex]);
+
+                if (hintedPickers != null) {
+                    boolean hinted = hintedPickers[orderIndex] == pickerIndex
+                            && hintedStartTimes[orderIndex] >= pickerFreeTime && hintedStartTimes[orderIndex] <= orderLatestStart;
+                    model.addHint(isAssigned[index][pickerIndex], hinted ? 1 : 0);
+                    if (hinted) {
+                        model.addHint(start, hintedStartTimes[orderIndex]);
+                    }
+                }
             }
-            model.addNoOverlap(intervals);
+            model.addAtMostOne(orderVars);
+        }
+        for (List<IntervalVar> intervalsOfPicker : pickerIntervals) {
+            model.addNoOverlap(intervalsOfPicker);
         }
 
         // Objective function
         LinearExprBuilder objectiveBuilder = LinearExpr.newBuilder();
-        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+        for (int index = 0; index < count; index++) {
             for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+                if (isAssigned[index][pickerIndex] == null) {
+                    continue;
+                }
                 if (this.criteria == SchedulerOptimizationCriteria.MAXIMIZE_COUNT)
-                    objectiveBuilder.addTerm(isAssigned[orderIndex][pickerIndex], 1);
+                    objectiveBuilder.addTerm(isAssigned[index][pickerIndex], 1);
                 else if (this.criteria == SchedulerOptimizationCriteria.MAXIMIZE_VALUE) {
-                    objectiveBuilder.addTerm(isAssigned[orderIndex][pickerIndex],
-                            (int) (orders.get(orderIndex).value().doubleValue() * MAX_VALUE_DECIMALS_MULTIPLIER));
+                    objectiveBuilder.addTerm(isAssigned[index][pickerIndex],
+                            orders.get(orderIndices[index]).valueCents());
                 }
             }
         }
 
         model.maximize(objectiveBuilder.build());
 
+        Consumer<ToLongFunction<LinearArgument>> readSolution = value -> {
+            for (int index = 0; index < count; index++) {
+                assignedPickers[index] = -1;
+                startTimes[index] = -1;
+                for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+                    if (isAssigned[index][pickerIndex] != null && value.applyAsLong(isAssigned[index][pickerIndex]) == 1) {
+                        assignedPickers[index] = pickerIndex;
+                        startTimes[index] = value.applyAsLong(intervals[index][pickerIndex].getStartExpr());
+                    }
+                }
+            }
+        };
+        return new BuiltModel(model, readSolution);
+    }
+
+    // Pickers that are not free at the earliest picker free time are blocked by a fixed interval until they are
+    private BuiltModel createCumulativeModel(List<Order> orders, Store store, int[] orderIndices, int count,
+                                             long[] pickerFreeTimes, long deadline, int[] hintedPickers,
+                                             long[] hintedStartTimes, int[] assignedPickers, long[] startTimes,
+                                             IncumbentHolder incumbents) {
+        CpModel model = new CpModel();
+
+        int numPickers = store.pickers().size();
+        long earliestFreeTime = Arrays.stream(pickerFreeTimes).min().orElseThrow();
+
+        // At most numPickers orders can be picked at the same time
+        CumulativeConstraint pickers = model.addCumulative(numPickers);
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            if (pickerFreeTimes[pickerIndex] > earliestFreeTime) {
+                pickers.addDemand(model.newFixedInterval(earliestFreeTime, pickerFreeTimes[pickerIndex] - earliestFreeTime,
+                        "picker_" + pickerIndex + "_busy"), 1);
+            }
+        }
+
+        // Orders that can't be started in time get no variable
+        BoolVar[] isScheduled = new BoolVar[count];
+        IntervalVar[] intervals = new IntervalVar[count];
+        for (int index = 0; index < count; index++) {
+            if (isInterrupted(deadline, incumbents)) {
+                return null;
+            }
+            int orderIndex = orderIndices[index];
+            Order order = orders.get(orderIndex);
+            long orderPickingTime = order.pickingTime().getSeconds();
+            long orderLatestStart = OrderPreprocessor.latestStartTimeInSeconds(order, store);
+            if (earliestFreeTime > orderLatestStart) {
+                continue;
+            }
+            isScheduled[index] = model.newBoolVar("order_" + orderIndex + "_is_scheduled");
+            IntVar start = model.newIntVar(earliestFreeTime, orderLatestStart, "order_" + orderIndex + "_start");
+            intervals[index] = model.newOptionalFixedSizeIntervalVar(start, orderPickingTime, isScheduled[index],
+                    "order_" + orderIndex + "_interval");
+            pickers.addDemand(intervals[index], 1);
+
+            if (hintedPickers != null) {
+                boolean hinted = hintedPickers[orderIndex] >= 0
+                        && hintedStartTimes[orderIndex] >= earliestFreeTime && hintedStartTimes[orderIndex] <= orderLatestStart;
+                model.addHint(isScheduled[index], hinted ? 1 : 0);
+                if (hinted) {
+                    model.addHint(start, hintedStartTimes[orderIndex]);
+                }
+            }
+        }
+
+        // Objective function
+        LinearExprBuilder objectiveBuilder = LinearExpr.newBuilder();
+        for (int index = 0; index < count; index++) {
+            if (isScheduled[index] == null) {
+                continue;
+            }
+            if (this.criteria == SchedulerOptimizationCriteria.MAXIMIZE_COUNT)
+                objectiveBuilder.addTerm(isScheduled[index], 1);
+            else if (this.criteria == SchedulerOptimizationCriteria.MAXIMIZE_VALUE) {
+                objectiveBuilder.addTerm(isScheduled[index],
+                        orders.get(orderIndices[index]).valueCents());
+            }
+        }
+
+        model.maximize(objectiveBuilder.build());
+
+        Consumer<ToLongFunction<LinearArgument>> readSolution = value -> {
+            Integer[] scheduledOrders = new Integer[count];
+            int scheduledCount = 0;
+            for (int index = 0; index < count; index++) {
+                assignedPickers[index] = -1;
+                startTimes[index] = -1;
+                if (isScheduled[index] != null && value.applyAsLong(isScheduled[index]) == 1) {
+                    startTimes[index] = value.applyAsLong(intervals[index].getStartExpr());
+                    scheduledOrders[scheduledCount++] = index;
+                }
+            }
+
+            // Orders are assigned in the order of their start, always to the picker that becomes free first.
+            // At most numPickers orders (busy pickers included) run at any time, so that picker is always free by then.
+            Arrays.sort(scheduledOrders, 0, scheduledCount, Comparator.comparingLong(index -> startTimes[index]));
+            long[] freeTimes = pickerFreeTimes.clone();
+            for (int position = 0; position < scheduledCount; position++) {
+                int index = scheduledOrders[position];
+                int pickerIndex = 0;
+                for (int otherPickerIndex = 1; otherPickerIndex < numPickers; otherPickerIndex++) {
+                    if (freeTimes[otherPickerIndex] < freeTimes[pickerIndex]) {
+                        pickerIndex = otherPickerIndex;
+                    }
+                }
+                assignedPickers[index] = pickerIndex;
+                freeTimes[pickerIndex] = startTimes[index] + orders.get(orderIndices[index]).pickingTime().getSeconds();
+            }
+        };
+        return new BuiltModel(model, readSolution);
+    }
+
+    private record BuiltModel(CpModel model, Consumer<ToLongFunction<LinearArgument>> readSolution) {
+    }
+
+    // readSolution fills the result arrays using the given variable values: of every intermediate solution when
+    // solutionFound is given, and of the final one
+    // The solver gets whatever is left until the deadline after the model has been built
+    private CpSolverStatus solve(CpModel model, long deadline, Consumer<ToLongFunction<LinearArgument>> readSolution,
+                                 IncumbentHolder incumbents, Runnable solutionFound,
+                                 AtomicReference<Runnable> runningSearch) {
+        if (isInterrupted(deadline, incumbents)) {
+            return CpSolverStatus.UNKNOWN;
+        }
         CpSolver solver = new CpSolver();
-        solver.getParameters().setMaxTimeInSeconds(timeLimitInSeconds);
-        CpSolverStatus status = solver.solve(model);
+        solver.getParameters().setMaxTimeInSeconds((deadline - System.nanoTime()) / 1e9);
+        if (settings.workers() > 0) {
+            solver.getParameters().setNumWorkers(settings.workers());
+        }
+        solver.getParameters().setLinearizationLevel(settings.linearizationLevel());
+        solver.getParameters().setRelativeGapLimit(settings.relativeGapLimit());
 
-        // Only if the problem is feasible or optimal, we can extract the solution
-        if (status == CpSolverStatus.FEASIBLE || status == CpSolverStatus.OPTIMAL) {
-            List<ScheduleEntry> schedule = new ArrayList<>();
-            for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
-                for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
-                    if (solver.value(isAssigned[orderIndex][pickerIndex]) == 1) {
-                        long value = solver.value(intervalMap.get("order_" + orderIndex + "_picker_" + pickerIndex + "_interval").getStartExpr());
-                        LocalTime startTime = LocalTime.ofSecondOfDay(value);
-                        schedule.add(new ScheduleEntry(store.pickers().get(pickerIndex), orders.get(orderIndex), startTime));
+        CpSolverStatus status;
+        if (incumbents == null) {
+            status = solver.solve(model);
+        } else {
+            Runnable stopSearch = solver::stopSearch;
+            incumbents.addCancelAction(stopSearch);
+            if (runningSearch != null) {
+                runningSearch.set(stopSearch);
+            }
+            try {
+                status = solver.solve(model, new CpSolverSolutionCallback() {
+                    @Override
+                    public void onSolutionCallback() {
+                        if (solutionFound != null) {
+                            readSolution.accept(this::value);
+                            solutionFound.run();
+                        }
                     }
+                });
+            } finally {
+                incumbents.removeCancelAction(stopSearch);
+                if (runningSearch != null) {
+                    runningSearch.set(null);
                 }
             }
-            return schedule;
+            double objectiveScale = criteria == SchedulerOptimizationCriteria.MAXIMIZE_VALUE ? MAX_VALUE_DECIMALS_MULTIPLIER : 1;
+            incumbents.listener().modelSolved(name(), status.name(), solver.objectiveValue() / objectiveScale,
+                    solver.bestObjectiveBound() / objectiveScale, Duration.ofNanos((long) (solver.wallTime() * 1e9)));
         }
 
-        return List.of();
+        // Only if the problem is feasible or optimal, we can extract the solution
+        if (isSolved(status)) {
+            readSolution.accept(solver::value);
+        }
+        return status;
+    }
+
+    private static boolean isSolved(CpSolverStatus status) {
+        return status == CpSolverStatus.FEASIBLE || status == CpSolverStatus.OPTIMAL;
     }
 }
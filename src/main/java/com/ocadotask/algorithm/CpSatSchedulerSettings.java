@@ -0,0 +1,59 @@
+package com.ocadotask.algorithm;
+
+// Problems above the size threshold are solved with a rolling horizon: orders are taken in the order of their latest
+// possible start, every window of windowSize orders is solved as a separate model and only the assignments starting
+// before the committed part of the window are fixed, the rest is solved again with the next window.
+// model - formulation of every solved model
+// windowSize - number of orders in every rolling horizon window, 0 disables the rolling horizon
+// windowOverlap - fraction of the window (by time) that is solved again with the next window
+// workers - number of parallel search workers, 0 leaves the choice to the solver
+// linearizationLevel - how much of the model is added to the LP relaxation, 0 (none) to 2 (everything)
+// relativeGapLimit - the search stops once the gap between the solution and the bound is within this fraction
+public record CpSatSchedulerSettings(CpSatModel model, int windowSize, double windowOverlap, int workers,
+                                     int linearizationLevel, double relativeGapLimit) {
+
+    public CpSatSchedulerSettings {
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Window size must not be negative: " + windowSize);
+        }
+        if (windowOverlap < 0 || windowOverlap >= 1) {
+            throw new IllegalArgumentException("Window overlap must be in range [0, 1): " + windowOverlap);
+        }
+        if (workers < 0) {
+            throw new IllegalArgumentException("Number of workers must not be negative: " + workers);
+        }
+        if (linearizationLevel < 0 || linearizationLevel > 2) {
+            throw new IllegalArgumentException("Linearization level must be in range [0, 2]: " + linearizationLevel);
+        }
+        if (relativeGapLimit < 0) {
+            throw new IllegalArgumentException("Relative gap limit must not be negative: " + relativeGapLimit);
+        }
+    }
+
+    // One worker per available core, but at least 8: the solver runs a portfolio of different strategies and
+    // a single worker often doesn't find any solution in time
+    public static CpSatSchedulerSettings defaults() {
+        return new CpSatSchedulerSettings(CpSatModel.PER_PICKER, 50, 0.25,
+                Math.max(8, Runtime.getRuntime().availableProcessors()), 1, 0);
+    }
+
+    public CpSatSchedulerSettings withModel(CpSatModel model) {
+        return new CpSatSchedulerSettings(model, windowSize, windowOverlap, workers, linearizationLevel, relativeGapLimit);
+    }
+
+    public CpSatSchedulerSettings withWindow(int windowSize, double windowOverlap) {
+        return new CpSatSchedulerSettings(model, windowSize, windowOverlap, workers, linearizationLevel, relativeGapLimit);
+    }
+
+    public CpSatSchedulerSettings withWorkers(int workers) {
+        return new CpSatSchedulerSettings(model, windowSize, windowOverlap, workers, linearizationLevel, relativeGapLimit);
+    }
+
+    public CpSatSchedulerSettings withLinearizationLevel(int linearizationLevel) {
+        return new CpSatSchedulerSettings(model, windowSize, windowOverlap, workers, linearizationLevel, relativeGapLimit);
+    }
+
+    public CpSatSchedulerSettings withRelativeGapLimit(double relativeGapLimit) {
+        return new CpSatSchedulerSettings(model, windowSize, windowOverlap, workers, linearizationLevel, relativeGapLimit);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ocadotask.algorithm;
+
+public enum CrossoverOperator {
+    // Single point crossover for MIXED encoding, order crossover for COMPACT encoding
+    DEFAULT,
+    // OX1 - keeps a segment of one parent, the remaining orders follow the sequence of the other parent
+    ORDER,
+    // PMX - keeps a segment of one parent, the remaining positions are taken from the other parent through the segment mapping
+    PARTIALLY_MATCHED,
+    // ERX - builds a sequence that preserves adjacency of orders present in either parent
+    EDGE_RECOMBINATION
+}
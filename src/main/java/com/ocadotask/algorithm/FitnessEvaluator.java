@@ -0,0 +1,202 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Evaluates schedules encoded as two primitive arrays:
+// 1. pickerAssignment - i-th position is an index of the picker assigned to the order at position i of orderSequence
+// 2. orderSequence - permutation of order indices, describes the sequence in which orders should be picked
+// Order data is kept in struct-of-arrays form, so the hot loop touches only primitive arrays and all pickers are
+// simulated in a single pass over the sequence using per-picker clocks.
+public final class FitnessEvaluator {
+
+    private final List<Order> orders;
+    private final Store store;
+    private final long[] pickingDurationsInSeconds;
+    private final long[] startDeadlinesInSeconds;
+    // Scores are whole cents for the value, so sums are exact and divided by scoreScale only once per evaluation
+    private final double[] scores;
+    private final double scoreScale;
+    private final long[] pickerStartTimesInSeconds;
+    private final int numPickers;
+
+    // Jenetics evaluates fitness concurrently, so every thread gets its own clocks
+    private final ThreadLocal<long[]> pickerClocks;
+
+    public FitnessEvaluator(List<Order> orders, Store store, SchedulerOptimizationCriteria criteria) {
+        this(OrderTable.of(orders), orders, store, criteria);
+    }
+
+    // Reads the columns directly, Order objects are only created for the entries of materialized schedules
+    public FitnessEvaluator(OrderTable orders, Store store, SchedulerOptimizationCriteria criteria) {
+        this(orders, orders.toOrders(), store, criteria);
+    }
+
+    private FitnessEvaluator(OrderTable table, List<Order> orders, Store store, SchedulerOptimizationCriteria criteria) {
+        this.orders = orders;
+        this.store = store;
+        this.numPickers = store.pickers().size();
+        this.pickerStartTimesInSeconds = new long[numPickers];
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerStartTimesInSeconds[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+        }
+        this.pickerClocks = ThreadLocal.withInitial(() -> new long[numPickers]);
+
+        int numOrders = table.size();
+        this.pickingDurationsInSeconds = new long[numOrders];
+        this.startDeadlinesInSeconds = new long[numOrders];
+        this.scores = new double[numOrders];
+        this.scoreScale = switch (criteria) {
+            case MAXIMIZE_COUNT -> 1.0;
+            case MAXIMIZE_VALUE -> 100.0;
+        };
+
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            pickingDurationsInSeconds[orderIndex] = table.pickingSeconds(orderIndex);
+            startDeadlinesInSeconds[orderIndex] = OrderPreprocessor.latestStartTimeInSeconds(table, orderIndex, store);
+            scores[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1.0;
+                case MAXIMIZE_VALUE -> table.valueCents(orderIndex);
+            };
+        }
+    }
+
+    public int numOrders() {
+        return scores.length;
+    }
+
+    public int numPickers() {
+        return numPickers;
+    }
+
+    long pickerStartTimeInSeconds(int pickerIndex) {
+        return pickerStartTimesInSeconds[pickerIndex];
+    }
+
+    long pickingDurationInSeconds(int orderIndex) {
+        return pickingDurationsInSeconds[orderIndex];
+    }
+
+    long startDeadlineInSeconds(int orderIndex) {
+        return startDeadlinesInSeconds[orderIndex];
+    }
+
+    // In units of scoreScale
+    double score(int orderIndex) {
+        return scores[orderIndex];
+    }
+
+    double scoreScale() {
+        return scoreScale;
+    }
+
+    public double evaluate(int[] pickerAssignment, int[] orderSequence) {
+        long[] clocks = pickerClocks.get();
+        System.arraycopy(pickerStartTimesInSeconds, 0, clocks, 0, numPickers);
+
+        double fitness = 0;
+        for (int position = 0; position < orderSequence.length; position++) {
+            int pickerIndex = pickerAssignment[position];
+            int orderIndex = orderSequence[position];
+            if (clocks[pickerIndex] <= startDeadlinesInSeconds[orderIndex]) {
+                clocks[pickerIndex] += pickingDurationsInSeconds[orderIndex];
+                fitness += scores[orderIndex];
+            }
+        }
+        return fitness / scoreScale;
+    }
+
+    // Replays the same simulation as evaluate, but materializes the schedule grouped by picker
+    public List<ScheduleEntry> createSchedule(int[] pickerAssignment, int[] orderSequence) {
+        long[] clocks = pickerStartTimesInSeconds.clone();
+
+        long[] startTimes = new long[orderSequence.length];
+        int[] scheduledPerPicker = new int[numPickers];
+        int scheduledCount = 0;
+        for (int position = 0; position < orderSequence.length; position++) {
+            int pickerIndex = pickerAssignment[position];
+            int orderIndex = orderSequence[position];
+            if (clocks[pickerIndex] <= startDeadlinesInSeconds[orderIndex]) {
+                startTimes[position] = clocks[pickerIndex];
+                clocks[pickerIndex] += pickingDurationsInSeconds[orderIndex];
+                scheduledPerPicker[pickerIndex]++;
+                scheduledCount++;
+            } else {
+                startTimes[position] = -1;
+            }
+        }
+
+        // Counting sort by picker keeps the sequence order within each picker
+        int[] pickerOffsets = new int[numPickers];
+        for (int pickerIndex = 1; pickerIndex < numPickers; pickerIndex++) {
+            pickerOffsets[pickerIndex] = pickerOffsets[pickerIndex - 1] + scheduledPerPicker[pickerIndex - 1];
+        }
+        ScheduleEntry[] entries = new ScheduleEntry[scheduledCount];
+        for (int position = 0; position < orderSequence.length; position++) {
+            if (startTimes[position] < 0) {
+                continue;
+            }
+            int pickerIndex = pickerAssignment[position];
+            entries[pickerOffsets[pickerIndex]++] = new ScheduleEntry(store.pickers().get(pickerIndex),
+                    orders.get(orderSequence[position]), LocalTime.ofSecondOfDay(startTimes[position]));
+        }
+
+        return new ArrayList<>(Arrays.asList(entries));
+    }
+
+    // Inverse of createSchedule. Entries are matched to orders and pickers by id, entries of unknown orders or pickers
+    // are ignored. Scheduled orders come first in the sequence, ordered by their start time, so every picker starts them
+    // no later than in the given schedule. Unscheduled orders follow in the order of their start deadline and are
+    // assigned to pickers round-robin.
+    public void encodeSchedule(List<ScheduleEntry> schedule, int[] pickerAssignment, int[] orderSequence) {
+        Map<String, Integer> orderIndices = new HashMap<>();
+        for (int orderIndex = orders.size() - 1; orderIndex >= 0; orderIndex--) {
+            orderIndices.put(orders.get(orderIndex).id(), orderIndex);
+        }
+        Map<String, Integer> pickerIndices = new HashMap<>();
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerIndices.putIfAbsent(store.pickers().get(pickerIndex).id(), pickerIndex);
+        }
+
+        List<ScheduleEntry> sortedSchedule = new ArrayList<>(schedule);
+        sortedSchedule.sort(Comparator.comparing(ScheduleEntry::startTime));
+
+        boolean[] sequenced = new boolean[orders.size()];
+        int position = 0;
+        for (ScheduleEntry entry : sortedSchedule) {
+            Integer orderIndex = orderIndices.get(entry.order().id());
+            Integer pickerIndex = pickerIndices.get(entry.picker().id());
+            if (orderIndex == null || pickerIndex == null || sequenced[orderIndex]) {
+                continue;
+            }
+            sequenced[orderIndex] = true;
+            pickerAssignment[position] = pickerIndex;
+            orderSequence[position] = orderIndex;
+            position++;
+        }
+
+        Integer[] unscheduledOrders = new Integer[orders.size() - position];
+        int unscheduledCount = 0;
+        for (int orderIndex = 0; orderIndex < orders.size(); orderIndex++) {
+            if (!sequenced[orderIndex]) {
+                unscheduledOrders[unscheduledCount++] = orderIndex;
+            }
+        }
+        Arrays.sort(unscheduledOrders, Comparator.comparingLong(orderIndex -> startDeadlinesInSeconds[orderIndex]));
+        for (int index = 0; index < unscheduledCount; index++) {
+            pickerAssignment[position] = index % numPickers;
+            orderSequence[position] = unscheduledOrders[index];
+            position++;
+        }
+    }
+}
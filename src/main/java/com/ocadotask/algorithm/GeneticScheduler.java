@@ -1,131 +1,345 @@
 package com.ocadotask.algorithm;
 
 import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 import io.jenetics.*;
 import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionInterceptor;
 import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
 
 import java.time.Duration;
-import java.time.LocalTime;
-import java.util.List;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import static io.jenetics.engine.Limits.byExecutionTime;
 import static io.jenetics.engine.Limits.bySteadyFitness;
 
-// Unfortunately that's the only way to implement a genotype with two chromosomes of different types
-// See: https://github.com/jenetics/jenetics/blob/master/jenetics.example/src/main/java/io/jenetics/example/MixedGenotype.java
-@SuppressWarnings({"rawtypes", "unchecked"})
 public class GeneticScheduler implements Scheduler {
 
-    private record OrderEntry(Order order, long pickingDurationInSeconds, long startDeadlineInSeconds) {
-    }
+    private static final double MUTATION_PROBABILITY = 0.15;
+    private static final double CROSSOVER_PROBABILITY = 0.2;
+    private static final int LOCAL_SEARCH_MOVE_ATTEMPTS = 1_000;
 
-    Function<Order, Double> orderScoreFunction;
+    private final SchedulerOptimizationCriteria criteria;
+    private final GeneticSchedulerSettings settings;
 
     public GeneticScheduler(SchedulerOptimizationCriteria criteria) {
+        this(criteria, GeneticSchedulerSettings.defaults());
+    }
+
+    public GeneticScheduler(SchedulerOptimizationCriteria criteria, GeneticSchedulerSettings settings) {
         switch (criteria) {
-            case MAXIMIZE_COUNT -> {
-                orderScoreFunction = x -> 1.0;
-            }
-            case MAXIMIZE_VALUE -> {
-                orderScoreFunction = x -> x.value().doubleValue();
+            case MAXIMIZE_COUNT, MAXIMIZE_VALUE -> {
+                this.criteria = criteria;
             }
             default -> {
                 throw new IllegalArgumentException("Unknown criteria: " + criteria);
             }
         }
+        this.settings = settings;
     }
 
     @Override
     public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds) {
-        List<OrderEntry> orderEntries = new ArrayList<>();
+        return calculateSchedule(orders, store, timeLimitInSeconds, List.of());
+    }
 
-        // Precompute picking duration and start deadline for each order to avoid recomputing it in fitness function
-        orders.forEach(order -> {
-            long startDeadlineInSeconds = Math.min(order.completeBy().toSecondOfDay() - order.pickingTime().getSeconds(), store.pickingEndTime().toSecondOfDay());
-            orderEntries.add(new OrderEntry(order, order.pickingTime().getSeconds(), startDeadlineInSeconds));
-        });
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 List<List<ScheduleEntry>> seedSchedules) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), seedSchedules, null);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
+
+    // The best phenotype is offered whenever it improves, every island offers its own. Better incumbents of other
+    // schedulers are injected into the population. The deadline is checked between generations.
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, deadline, incumbents, List.of());
+    }
+
+    // Seeds are part of the initial population
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents, List<List<ScheduleEntry>> seedSchedules) {
+        seedSchedules.forEach(incumbents::offer);
+        List<ScheduleEntry> schedule = calculateSchedule(orders, store, deadline, seedSchedules, incumbents);
+        incumbents.offer(schedule, name());
+        return schedule;
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), List.of(), null);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds,
+                                                 IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, Instant.now().plusSeconds(timeLimitInSeconds), incumbents);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, Instant deadline,
+                                                 IncumbentHolder incumbents) {
+        List<ScheduleEntry> schedule = calculateSchedule(orders, store, deadline, List.of(), incumbents);
+        incumbents.offer(schedule, name());
+        return schedule;
+    }
+
+    // incumbents is null when nobody waits for intermediate schedules
+    private List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                  List<List<ScheduleEntry>> seedSchedules, IncumbentHolder incumbents) {
+        // Orders that can't be picked in time would only enlarge the genotype
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        if (orders.isEmpty() || store.pickers().isEmpty()) {
+            return List.of();
+        }
+
+        // Precompute picking duration, start deadline and score of each order to avoid recomputing it in fitness function
+        FitnessEvaluator evaluator = new FitnessEvaluator(orders, store, criteria);
+
+        List<List<ScheduleEntry>> seeds = new ArrayList<>(seedSchedules);
+        if (settings.greedySeed()) {
+            seeds.add(new GreedyScheduler(criteria).calculateSchedule(orders, store, 0));
+        }
+
+        return calculateSchedule(evaluator, deadline, seeds, incumbents);
+    }
 
-        // Genotype consists of two chromosomes:
-        // 1. Picker mapping chromosome - i-th position is an index of the picker assigned to the order with index i in orderMappingChromosome
-        // 2. Order mapping chromosome - i-th position is an index of the order in orders list. This chromosome is a permutation of integers from 0
-        // to orders.size() - 1 it describes the sequence in which orders should be picked by a picker.
-        Genotype Encoding = Genotype.of(
-                (Chromosome) IntegerChromosome.of(0, store.pickers().size(), orders.size()),
-                (Chromosome) PermutationChromosome.ofInteger(0, orders.size())
-        );
-        Function<Genotype, Double> fitnessFunction = getFitnessFunction(orderEntries, store.pickingStartTime().toSecondOfDay());
-
-        Engine engine = Engine.builder(fitnessFunction, Encoding)
+    private List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, Instant deadline,
+                                                  List<List<ScheduleEntry>> seedSchedules, IncumbentHolder incumbents) {
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        if (orders.size() == 0 || store.pickers().isEmpty()) {
+            return List.of();
+        }
+
+        FitnessEvaluator evaluator = new FitnessEvaluator(orders, store, criteria);
+
+        List<List<ScheduleEntry>> seeds = new ArrayList<>(seedSchedules);
+        if (settings.greedySeed()) {
+            seeds.add(new GreedyScheduler(criteria).calculateSchedule(orders, store, 0));
+        }
+
+        return calculateSchedule(evaluator, deadline, seeds, incumbents);
+    }
+
+    // The mixed encoding is raw-typed, see MixedScheduleEncoding
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<ScheduleEntry> calculateSchedule(FitnessEvaluator evaluator, Instant deadline, List<List<ScheduleEntry>> seeds,
+                                                  IncumbentHolder incumbents) {
+        return switch (settings.encoding()) {
+            case MIXED -> calculateSchedule((ScheduleEncoding) new MixedScheduleEncoding(evaluator.numOrders(), evaluator.numPickers()), evaluator, deadline, seeds, incumbents);
+            case COMPACT -> calculateSchedule(new CompactScheduleEncoding(evaluator.numOrders(), evaluator.numPickers()), evaluator, deadline, seeds, incumbents);
+        };
+    }
+
+    private <G extends Gene<?, G>> List<ScheduleEntry> calculateSchedule(ScheduleEncoding<G> encoding, FitnessEvaluator evaluator,
+                                                                        Instant deadline, List<List<ScheduleEntry>> seedSchedules,
+                                                                        IncumbentHolder incumbents) {
+        // Seeds are encoded once and shared by all islands, genotypes are immutable
+        ISeq<Genotype<G>> initialPopulation = seedSchedules.stream()
+                .limit(settings.populationSize())
+                .map(schedule -> {
+                    int[] pickerAssignment = new int[evaluator.numOrders()];
+                    int[] orderSequence = new int[evaluator.numOrders()];
+                    evaluator.encodeSchedule(schedule, pickerAssignment, orderSequence);
+                    return encoding.encode(pickerAssignment, orderSequence);
+                })
+                .collect(ISeq.toISeq());
+
+        // Without incumbents nobody else stops a run that can't improve any more, islands share the flag. With
+        // incumbents the run relies on the holder instead, which is cancelled once its upper bound (if any was set) is
+        // reached or its gap limit is met.
+        double upperBound = incumbents == null ? UpperBound.of(evaluator, criteria) : Double.POSITIVE_INFINITY;
+        AtomicBoolean boundReached = new AtomicBoolean();
+
+        Phenotype<G, Double> best;
+        if (settings.islands() == 1) {
+            LongAdder evaluations = new LongAdder();
+            Engine.Builder<G, Double> engineBuilder = createEngineBuilder(encoding, evaluator, evaluations,
+                    MUTATION_PROBABILITY, CROSSOVER_PROBABILITY);
+            if (incumbents != null) {
+                engineBuilder.interceptor(incumbentInterceptor(encoding, evaluator, incumbents));
+            }
+            Engine<G, Double> engine = engineBuilder.build();
+            best = evolve(engine, deadline, initialPopulation, encoding, evaluator, evaluations, incumbents,
+                    upperBound, boundReached);
+        } else {
+            IslandModel<G> islandModel = new IslandModel<>(settings.islands(), settings.migrationInterval(), settings.migrationSize());
+            best = islandModel.run(island -> {
+                // Islands use different operator rates, from half to twice the default ones, to diversify the search
+                double rateMultiplier = 0.5 + 1.5 * island / (settings.islands() - 1);
+                LongAdder evaluations = new LongAdder();
+                Engine<G, Double> engine = createEngineBuilder(encoding, evaluator, evaluations,
+                        Math.min(1.0, MUTATION_PROBABILITY * rateMultiplier), Math.min(1.0, CROSSOVER_PROBABILITY * rateMultiplier))
+                        .interceptor(incumbents == null ? islandModel.migrationInterceptor(island)
+                                : islandModel.migrationInterceptor(island).compose(incumbentInterceptor(encoding, evaluator, incumbents)))
+                        // Every island already has its own thread
+                        .executor(Runnable::run)
+                        .build();
+                return evolve(engine, deadline, initialPopulation, encoding, evaluator, evaluations, incumbents,
+                    upperBound, boundReached);
+            });
+        }
+
+        return createScheduleFromPhenotype(encoding, evaluator, best);
+    }
+
+    private <G extends Gene<?, G>> Engine.Builder<G, Double> createEngineBuilder(ScheduleEncoding<G> encoding, FitnessEvaluator evaluator,
+                                                                               LongAdder evaluations, double mutationProbability,
+                                                                               double crossoverProbability) {
+        return Engine.builder(getFitnessFunction(encoding, evaluator, evaluations), encoding.genotypeFactory())
                 .optimize(Optimize.MAXIMUM)
-                .populationSize(100)
-                .alterers(
-                        new Mutator<>(0.15),
-                        new SinglePointCrossover<>(0.2))
+                .populationSize(settings.populationSize())
+                .alterers(createAlterer(encoding, evaluator, mutationProbability, crossoverProbability))
                 .survivorsSelector(new TournamentSelector<>(5))
-                .offspringSelector(new RouletteWheelSelector())
-                .build();
+                .offspringSelector(new RouletteWheelSelector<>());
+    }
 
-        Phenotype best = (Phenotype) engine.stream()
-                .limit(byExecutionTime(Duration.ofSeconds(timeLimitInSeconds)))
-                .limit(bySteadyFitness(300))
-                .collect(EvolutionResult.toBestPhenotype());
+    private <G extends Gene<?, G>> Alterer<G, Double> createAlterer(ScheduleEncoding<G> encoding, FitnessEvaluator evaluator,
+                                                                    double mutationProbability, double crossoverProbability) {
+        Alterer<G, Double> mutator = settings.mutation() == MutationOperator.DEFAULT
+                ? encoding.defaultMutator(mutationProbability)
+                : new ScheduleMutator<>(encoding, settings.mutation(), evaluator.numPickers(), mutationProbability);
+        Alterer<G, Double> crossover = settings.crossover() == CrossoverOperator.DEFAULT
+                ? encoding.defaultCrossover(crossoverProbability)
+                : new ScheduleCrossover<>(encoding, settings.crossover(), crossoverProbability);
+        Alterer<G, Double> alterer = Alterer.of(mutator, crossover);
 
-        return createScheduleFromPhenotype(orderEntries, store, best);
+        if (settings.localSearchElites() > 0) {
+            LocalSearch localSearch = new LocalSearch(evaluator, LOCAL_SEARCH_MOVE_ATTEMPTS);
+            alterer = alterer.andThen(new LocalSearchAlterer<>(encoding, localSearch, settings.localSearchElites()));
+        }
+        return alterer;
     }
 
-    // We use double for fitness and long for time because of 4x speedup over BigDecimal/LocaleTime
-    private Function<Genotype, Double> getFitnessFunction(List<OrderEntry> orderEntries, long pickingStartTimeInSeconds) {
-        return gt -> {
-            double fitness = 0;
-
-            IntegerChromosome pickerMappingChromosome = (IntegerChromosome) gt.get(0);
-            PermutationChromosome<Integer> orderMappingChromosome = (PermutationChromosome<Integer>) gt.get(1);
-
-            for (int pickerMappingIndex = 0; pickerMappingIndex < pickerMappingChromosome.length(); pickerMappingIndex++) {
-                long currentTime = pickingStartTimeInSeconds;
-                for (int orderMappingIndex = 0; orderMappingIndex < orderMappingChromosome.length(); orderMappingIndex++) {
-                    if (pickerMappingChromosome.get(orderMappingIndex).intValue() != pickerMappingIndex) {
-                        continue;
-                    }
-
-                    int orderIndex = orderMappingChromosome.get(orderMappingIndex).allele();
-                    OrderEntry orderEntry = orderEntries.get(orderIndex);
-                    if (currentTime <= orderEntry.startDeadlineInSeconds) {
-                        currentTime += orderEntry.pickingDurationInSeconds;
-                        fitness += orderScoreFunction.apply(orderEntry.order);
-                    }
-                }
-            }
-            return fitness;
-        };
+    // The initial population is filled up with random genotypes by the engine.
+    // A schedule is only created for a best phenotype that improves the incumbent. The first generation is always
+    // evaluated, so there is a best phenotype even if the search was cancelled before it started.
+    // evaluations counts the fitness evaluations of the engine, every generation reports and resets it.
+    // Without incumbents the run stops at the generation whose best phenotype reaches the upper bound, or once another
+    // island has reached it. With incumbents it stops at the generation whose offer gets them cancelled, or once they
+    // are cancelled by someone else. limit drops the result that stops the stream, so its best phenotype is kept aside.
+    private <G extends Gene<?, G>> Phenotype<G, Double> evolve(Engine<G, Double> engine, Instant deadline,
+                                                              ISeq<Genotype<G>> initialPopulation, ScheduleEncoding<G> encoding,
+                                                              FitnessEvaluator evaluator, LongAdder evaluations,
+                                                              IncumbentHolder incumbents, double upperBound,
+                                                              AtomicBoolean boundReached) {
+        Duration timeLeft = Duration.between(Instant.now(), deadline);
+        EvolutionStream<G, Double> results = engine.stream(initialPopulation)
+                .limit(byExecutionTime(timeLeft.isNegative() ? Duration.ZERO : timeLeft))
+                .limit(bySteadyFitness(300));
+        AtomicReference<Phenotype<G, Double>> stoppedAt = new AtomicReference<>();
+        Phenotype<G, Double> best;
+        if (incumbents == null) {
+            best = results
+                    .limit(result -> {
+                        if (UpperBound.reaches(result.bestFitness(), upperBound)) {
+                            stoppedAt.set(result.bestPhenotype());
+                            boundReached.set(true);
+                            return false;
+                        }
+                        return result.generation() == 1 || !boundReached.get();
+                    })
+                    .collect(EvolutionResult.toBestPhenotype());
+        } else {
+            best = results
+                    .limit(result -> {
+                        if (result.generation() > 1 && incumbents.isCancelled()) {
+                            return false;
+                        }
+                        incumbents.listener().generationCompleted(name(), result.generation(), evaluations.sumThenReset(),
+                                result.bestFitness(), incumbents.elapsed());
+                        if (incumbents.improves(result.bestFitness())) {
+                            incumbents.offer(createScheduleFromPhenotype(encoding, evaluator, result.bestPhenotype()), name());
+                        }
+                        if (incumbents.isCancelled()) {
+                            stoppedAt.set(result.bestPhenotype());
+                            return false;
+                        }
+                        return true;
+                    })
+                    .collect(EvolutionResult.toBestPhenotype());
+        }
+        Phenotype<G, Double> stopped = stoppedAt.get();
+        return stopped == null || best != null && best.fitness() >= stopped.fitness() ? best : stopped;
     }
 
-    private List<ScheduleEntry> createScheduleFromPhenotype(List<OrderEntry> orderEntries, Store store, Phenotype phenotype) {
-        IntegerChromosome pickerMappingChromosome = (IntegerChromosome) phenotype.genotype().get(0);
-        PermutationChromosome<Integer> orderMappingChromosome = (PermutationChromosome) phenotype.genotype().get(1);
+    // An incumbent that is better than every individual can only come from another scheduler (or another island), it
+    // replaces the worst individual at the start of the next generation. Each incumbent is encoded once per engine.
+    // The first population is left alone, it is not evaluated yet and already holds the seeds.
+    private static <G extends Gene<?, G>> EvolutionInterceptor<G, Double> incumbentInterceptor(ScheduleEncoding<G> encoding,
+                                                                                             FitnessEvaluator evaluator,
+                                                                                             IncumbentHolder incumbents) {
+        AtomicReference<Incumbent> injected = new AtomicReference<>();
+        return EvolutionInterceptor.ofBefore(start -> {
+            Incumbent incumbent = incumbents.best().orElse(null);
+            ISeq<Phenotype<G, Double>> population = start.population();
+            if (incumbent == null || incumbent == injected.get() || population.isEmpty()) {
+                return start;
+            }
 
-        List<ScheduleEntry> scheduleEntries = new ArrayList<>();
-        for (int pickerMappingIndex = 0; pickerMappingIndex < pickerMappingChromosome.length(); pickerMappingIndex++) {
-            long currentTime = store.pickingStartTime().toSecondOfDay();
-            for (int orderMappingIndex = 0; orderMappingIndex < orderMappingChromosome.length(); orderMappingIndex++) {
-                if (pickerMappingChromosome.get(orderMappingIndex).intValue() != pickerMappingIndex) {
-                    continue;
+            int worstIndex = 0;
+            double bestFitness = Double.NEGATIVE_INFINITY;
+            for (int index = 0; index < population.length(); index++) {
+                Phenotype<G, Double> phenotype = population.get(index);
+                if (!phenotype.isEvaluated()) {
+                    return start;
                 }
-
-                int orderIndex = orderMappingChromosome.get(orderMappingIndex).allele();
-                OrderEntry orderEntry = orderEntries.get(orderIndex);
-                if (currentTime <= orderEntry.startDeadlineInSeconds) {
-                    scheduleEntries.add(new ScheduleEntry(store.pickers().get(pickerMappingIndex), orderEntry.order, LocalTime.ofSecondOfDay(currentTime)));
-                    currentTime += orderEntry.pickingDurationInSeconds;
+                bestFitness = Math.max(bestFitness, phenotype.fitness());
+                if (phenotype.fitness() < population.get(worstIndex).fitness()) {
+                    worstIndex = index;
                 }
             }
-        }
+            if (incumbent.fitness() <= bestFitness) {
+                return start;
+            }
+
+            int[] pickerAssignment = new int[evaluator.numOrders()];
+            int[] orderSequence = new int[evaluator.numOrders()];
+            evaluator.encodeSchedule(incumbent.schedule(), pickerAssignment, orderSequence);
+            MSeq<Phenotype<G, Double>> newPopulation = population.copy();
+            newPopulation.set(worstIndex, Phenotype.of(encoding.encode(pickerAssignment, orderSequence), start.generation()));
+            injected.set(incumbent);
+            return EvolutionStart.of(newPopulation.toISeq(), start.generation());
+        });
+    }
+
+    // We use double for fitness and long for time because of 4x speedup over BigDecimal/LocaleTime.
+    // The genotype is decoded once into primitive arrays (reused per thread), so the evaluation itself does not box
+    // any gene and simulates all pickers in a single pass.
+    private static <G extends Gene<?, G>> Function<Genotype<G>, Double> getFitnessFunction(ScheduleEncoding<G> encoding, FitnessEvaluator evaluator,
+                                                                                          LongAdder evaluations) {
+        ThreadLocal<int[]> pickerAssignments = ThreadLocal.withInitial(() -> new int[evaluator.numOrders()]);
+        ThreadLocal<int[]> orderSequences = ThreadLocal.withInitial(() -> new int[evaluator.numOrders()]);
+        return gt -> {
+            evaluations.increment();
+            return encoding.evaluate(gt, evaluator, pickerAssignments.get(), orderSequences.get());
+        };
+    }
 
-        return scheduleEntries;
+    private static <G extends Gene<?, G>> List<ScheduleEntry> createScheduleFromPhenotype(ScheduleEncoding<G> encoding, FitnessEvaluator evaluator, Phenotype<G, Double> phenotype) {
+        int[] pickerAssignment = new int[evaluator.numOrders()];
+        int[] orderSequence = new int[evaluator.numOrders()];
+        encoding.decode(phenotype.genotype(), pickerAssignment, orderSequence);
+        return evaluator.createSchedule(pickerAssignment, orderSequence);
     }
 }
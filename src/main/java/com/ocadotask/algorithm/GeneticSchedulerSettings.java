@@ -0,0 +1,82 @@
+package com.ocadotask.algorithm;
+
+// islands - number of independent engines, 1 runs a single engine that evaluates fitness on the common pool
+// migrationInterval - number of generations between migrations of the best phenotypes to the next island
+// migrationSize - number of phenotypes sent by an island in every migration
+// localSearchElites - number of the best offspring improved by local search in every generation, 0 disables it
+// greedySeed - adds the GreedyScheduler schedule to the initial population
+public record GeneticSchedulerSettings(GenotypeEncoding encoding, int populationSize, int islands, int migrationInterval,
+                                       int migrationSize, CrossoverOperator crossover, MutationOperator mutation,
+                                       int localSearchElites, boolean greedySeed) {
+
+    public GeneticSchedulerSettings {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population size must be at least 2: " + populationSize);
+        }
+        if (islands < 1) {
+            throw new IllegalArgumentException("Number of islands must be at least 1: " + islands);
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be at least 1: " + migrationInterval);
+        }
+        if (migrationSize < 0 || migrationSize > populationSize) {
+            throw new IllegalArgumentException("Migration size must be in range [0, populationSize]: " + migrationSize);
+        }
+        if (localSearchElites < 0 || localSearchElites > populationSize) {
+            throw new IllegalArgumentException("Local search elites must be in range [0, populationSize]: " + localSearchElites);
+        }
+    }
+
+    public static GeneticSchedulerSettings defaults() {
+        return new GeneticSchedulerSettings(GenotypeEncoding.MIXED, 100, 1, 20, 2,
+                CrossoverOperator.DEFAULT, MutationOperator.DEFAULT, 0, false);
+    }
+
+    // One island per available core
+    public static GeneticSchedulerSettings islandModel() {
+        return defaults().withIslands(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Compact encoding with permutation-aware operators and local search of the best offspring
+    public static GeneticSchedulerSettings memetic() {
+        return defaults()
+                .withEncoding(GenotypeEncoding.COMPACT)
+                .withOperators(CrossoverOperator.ORDER, MutationOperator.INSERTION)
+                .withLocalSearchElites(2);
+    }
+
+    public GeneticSchedulerSettings withEncoding(GenotypeEncoding encoding) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withPopulationSize(int populationSize) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withIslands(int islands) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withMigration(int migrationInterval, int migrationSize) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withOperators(CrossoverOperator crossover, MutationOperator mutation) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withLocalSearchElites(int localSearchElites) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+
+    public GeneticSchedulerSettings withGreedySeed(boolean greedySeed) {
+        return new GeneticSchedulerSettings(encoding, populationSize, islands, migrationInterval, migrationSize,
+                crossover, mutation, localSearchElites, greedySeed);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ocadotask.algorithm;
+
+public enum GenotypeEncoding {
+    // Jenetics IntegerChromosome + PermutationChromosome, every gene is a separate object
+    MIXED,
+    // Single chromosome backed by two primitive int arrays, genes are never materialized by the engine
+    COMPACT
+}
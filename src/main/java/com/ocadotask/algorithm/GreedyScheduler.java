@@ -0,0 +1,157 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Constructive heuristic that returns a reasonable schedule in milliseconds, even for millions of orders.
+// Orders are sorted by their latest possible start (earliest deadline first), ties are broken by the shorter picking
+// time (MAXIMIZE_COUNT) or by the higher value per second of picking (MAXIMIZE_VALUE). Every order is then dispatched
+// to the picker that becomes free first, kept at the top of a primitive min-heap. If that picker can't start the order
+// in time, no other picker can, so the order is skipped. Sorting is O(n log n), dispatching is O(n log p).
+public class GreedyScheduler implements Scheduler {
+
+    private final SchedulerOptimizationCriteria criteria;
+
+    public GreedyScheduler(SchedulerOptimizationCriteria criteria) {
+        switch (criteria) {
+            case MAXIMIZE_COUNT, MAXIMIZE_VALUE -> {
+                this.criteria = criteria;
+            }
+            default -> {
+                throw new IllegalArgumentException("Unknown criteria: " + criteria);
+            }
+        }
+    }
+
+    // The heuristic does not search, so it finishes long before any reasonable time limit
+    @Override
+    public List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds) {
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        return calculateSchedule(OrderTable.of(orders), orders, store);
+    }
+
+    @Override
+    public List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds) {
+        orders = OrderPreprocessor.removeInfeasibleOrders(orders, store);
+        return calculateSchedule(orders, orders.toOrders(), store);
+    }
+
+    // orders are the same orders as table, an Order is only taken from them for every scheduled entry
+    private List<ScheduleEntry> calculateSchedule(OrderTable table, List<Order> orders, Store store) {
+        int numOrders = table.size();
+        int numPickers = store.pickers().size();
+        if (numOrders == 0 || numPickers == 0) {
+            return List.of();
+        }
+
+        long[] pickingTimes = new long[numOrders];
+        long[] latestStartTimes = new long[numOrders];
+        long[] values = new long[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            pickingTimes[orderIndex] = table.pickingSeconds(orderIndex);
+            latestStartTimes[orderIndex] = OrderPreprocessor.latestStartTimeInSeconds(table, orderIndex, store);
+            values[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1;
+                case MAXIMIZE_VALUE -> table.valueCents(orderIndex);
+            };
+        }
+
+        int[] sortedOrders = new int[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            sortedOrders[orderIndex] = orderIndex;
+        }
+        mergeSort(sortedOrders, new int[numOrders], 0, numOrders, pickingTimes, latestStartTimes, values);
+
+        // Binary min-heap of picker indices ordered by the time the picker becomes free
+        long[] freeTimes = new long[numPickers];
+        int[] heap = new int[numPickers];
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            freeTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+            heap[pickerIndex] = pickerIndex;
+        }
+        // Pickers may become available at different times
+        for (int index = numPickers / 2 - 1; index >= 0; index--) {
+            siftDown(heap, freeTimes, index);
+        }
+
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        for (int orderIndex : sortedOrders) {
+            int pickerIndex = heap[0];
+            long startTime = freeTimes[pickerIndex];
+            if (startTime > latestStartTimes[orderIndex]) {
+                continue;
+            }
+            schedule.add(new ScheduleEntry(store.pickers().get(pickerIndex), orders.get(orderIndex), LocalTime.ofSecondOfDay(startTime)));
+            freeTimes[pickerIndex] = startTime + pickingTimes[orderIndex];
+            siftDown(heap, freeTimes, 0);
+        }
+
+        return schedule;
+    }
+
+    // Stable merge sort of order indices, avoids boxing indices for a comparator-based sort
+    private void mergeSort(int[] indices, int[] buffer, int from, int to, long[] pickingTimes, long[] latestStartTimes, long[] values) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, middle, pickingTimes, latestStartTimes, values);
+        mergeSort(indices, buffer, middle, to, pickingTimes, latestStartTimes, values);
+        if (compare(indices[middle - 1], indices[middle], pickingTimes, latestStartTimes, values) <= 0) {
+            return;
+        }
+
+        System.arraycopy(indices, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int target = from; target < to; target++) {
+            if (right >= to || (left < middle && compare(buffer[left], buffer[right], pickingTimes, latestStartTimes, values) <= 0)) {
+                indices[target] = buffer[left++];
+            } else {
+                indices[target] = buffer[right++];
+            }
+        }
+    }
+
+    private int compare(int first, int second, long[] pickingTimes, long[] latestStartTimes, long[] values) {
+        int result = Long.compare(latestStartTimes[first], latestStartTimes[second]);
+        if (result != 0) {
+            return result;
+        }
+        return switch (criteria) {
+            case MAXIMIZE_COUNT -> Long.compare(pickingTimes[first], pickingTimes[second]);
+            // Higher value / pickingTime first, compared by cross multiplication to stay in integer arithmetic.
+            // A zero picking time is treated as one second.
+            case MAXIMIZE_VALUE -> Long.compare(values[second] * Math.max(1, pickingTimes[first]), values[first] * Math.max(1, pickingTimes[second]));
+        };
+    }
+
+    // The root's free time only ever increases, so it is enough to restore the heap downwards
+    private static void siftDown(int[] heap, long[] freeTimes, int index) {
+        int size = heap.length;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && freeTimes[heap[left]] < freeTimes[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && freeTimes[heap[right]] < freeTimes[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            int tmp = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = tmp;
+            index = smallest;
+        }
+    }
+}
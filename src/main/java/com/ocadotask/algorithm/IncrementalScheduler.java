@@ -0,0 +1,87 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Re-optimizes a committed schedule when orders arrive or are cancelled during the day, instead of solving the whole day
+// again. Entries that have started by now are frozen: they stay as they are, and their pickers only become available
+// once they finish them. Everything else (not started entries and new orders, without the cancelled ones) is scheduled
+// again from now on. The not started entries are still a feasible plan for the remaining horizon, they are offered as
+// the first incumbent (and passed as a seed, so schedulers that support seeds continue from them), so the result is
+// never worse than the committed plan, however short the time limit. Orders that are not in the committed schedule are
+// only considered if they are passed again as new orders. Cancelled orders that have already started are kept, their
+// pickers are busy with them anyway.
+public class IncrementalScheduler {
+
+    private final SchedulerOptimizationCriteria criteria;
+    private final Scheduler scheduler;
+
+    public IncrementalScheduler(SchedulerOptimizationCriteria criteria, Scheduler scheduler) {
+        this.criteria = criteria;
+        this.scheduler = scheduler;
+    }
+
+    public List<ScheduleEntry> reschedule(List<ScheduleEntry> schedule, LocalTime now, Collection<Order> newOrders,
+                                          Collection<String> cancelledOrderIds, Store store, int timeLimitInSeconds) {
+        Set<String> cancelled = new HashSet<>(cancelledOrderIds);
+        List<Picker> pickers = store.pickers();
+        LocalTime[] availableTimes = new LocalTime[pickers.size()];
+        for (int pickerIndex = 0; pickerIndex < pickers.size(); pickerIndex++) {
+            availableTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex);
+        }
+
+        List<ScheduleEntry> frozenEntries = new ArrayList<>();
+        List<ScheduleEntry> plannedEntries = new ArrayList<>();
+        List<Order> remainingOrders = new ArrayList<>();
+        Set<String> remainingOrderIds = new HashSet<>();
+        for (ScheduleEntry entry : schedule) {
+            if (entry.startTime().isBefore(now)) {
+                frozenEntries.add(entry);
+                int pickerIndex = pickers.indexOf(entry.picker());
+                if (pickerIndex < 0) {
+                    throw new IllegalArgumentException("Unknown picker: " + entry.picker().id());
+                }
+                // In seconds of day, LocalTime arithmetic would wrap past midnight. No picker works past the end.
+                LocalTime endTime = LocalTime.ofSecondOfDay(Math.min(
+                        entry.startTime().toSecondOfDay() + entry.order().pickingTime().getSeconds(),
+                        store.pickingEndTime().toSecondOfDay()));
+                if (endTime.isAfter(availableTimes[pickerIndex])) {
+                    availableTimes[pickerIndex] = endTime;
+                }
+            } else if (!cancelled.contains(entry.order().id()) && remainingOrderIds.add(entry.order().id())) {
+                plannedEntries.add(entry);
+                remainingOrders.add(entry.order());
+            }
+        }
+        for (Order order : newOrders) {
+            if (!cancelled.contains(order.id()) && remainingOrderIds.add(order.id())) {
+                remainingOrders.add(order);
+            }
+        }
+
+        // The remaining horizon starts now, nothing can be started in the past anymore
+        LocalTime horizonStart = now.isAfter(store.pickingStartTime()) ? now : store.pickingStartTime();
+        if (remainingOrders.isEmpty() || !horizonStart.isBefore(store.pickingEndTime())) {
+            return frozenEntries;
+        }
+        Store remainingStore = new Store(pickers, horizonStart, store.pickingEndTime(), List.of(availableTimes));
+
+        IncumbentHolder incumbents = new IncumbentHolder(criteria);
+        scheduler.calculateSchedule(remainingOrders, remainingStore, Instant.now().plusSeconds(timeLimitInSeconds),
+                incumbents, List.of(plannedEntries));
+
+        List<ScheduleEntry> rescheduled = new ArrayList<>(frozenEntries);
+        rescheduled.addAll(incumbents.best().map(Incumbent::schedule).orElse(plannedEntries));
+        return rescheduled;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.ScheduleEntry;
+
+import java.util.List;
+
+// schedule - the best schedule found so far
+// fitness - number of scheduled orders (MAXIMIZE_COUNT) or their total value (MAXIMIZE_VALUE)
+// scheduler - name of the scheduler that found it, null if it was offered from outside of a scheduler
+public record Incumbent(List<ScheduleEntry> schedule, double fitness, String scheduler) {
+}
@@ -0,0 +1,231 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.ScheduleEntry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Best schedule found so far by any of the schedulers searching at the same time. Schedulers offer every improved
+// schedule while they search, the best one is swapped in with compare-and-set, so neither offering nor reading it ever
+// blocks a scheduler. Subscribers are notified one incumbent at a time, in the order of increasing fitness, by the
+// offering (or subscribing) thread that finds nobody else notifying them. An offer made while another thread notifies
+// them is left to that thread, which keeps notifying until it has caught up with the best incumbent, so only that one
+// scheduler waits for slow subscribers. An offer that is overtaken by a better one before its notification is not
+// reported.
+// Cancelling asks all schedulers to stop as soon as possible, they still return (and offer) their best schedule.
+// A schedule that is proven optimal cancels the run, nothing can improve on it. So does an incumbent that reaches
+// the upper bound, or gets within the relative gap limit of it, once the bound is known.
+// The holder also carries the telemetry listener of the run and its clock, which starts when the holder is created.
+public final class IncumbentHolder {
+
+    private final SchedulerOptimizationCriteria criteria;
+    private final SchedulerListener listener;
+    private final double relativeGapLimit;
+    private final long startNanos = System.nanoTime();
+    private final AtomicReference<Incumbent> best = new AtomicReference<>();
+    private final List<Consumer<Incumbent>> subscribers = new CopyOnWriteArrayList<>();
+    // Added to subscribers and notified of the last notified incumbent by the notifying thread
+    private final Queue<Consumer<Incumbent>> newSubscribers = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean notifying = new AtomicBoolean();
+    private final List<Runnable> cancelActions = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+    private volatile boolean optimal;
+    private volatile double upperBound = Double.POSITIVE_INFINITY;
+    // Written by the notifying thread only
+    private volatile Incumbent notified;
+
+    public IncumbentHolder(SchedulerOptimizationCriteria criteria) {
+        this(criteria, SchedulerListener.NONE);
+    }
+
+    public IncumbentHolder(SchedulerOptimizationCriteria criteria, SchedulerListener listener) {
+        this(criteria, listener, 0);
+    }
+
+    // relativeGapLimit - an incumbent this close to the upper bound (relative to the bound) is good enough, 0 waits for
+    // a schedule that reaches it
+    public IncumbentHolder(SchedulerOptimizationCriteria criteria, SchedulerListener listener, double relativeGapLimit) {
+        if (!(relativeGapLimit >= 0)) {
+            throw new IllegalArgumentException("Relative gap limit must not be negative: " + relativeGapLimit);
+        }
+        this.listener = listener;
+        this.relativeGapLimit = relativeGapLimit;
+        switch (criteria) {
+            case MAXIMIZE_COUNT, MAXIMIZE_VALUE -> {
+                this.criteria = criteria;
+            }
+            default -> {
+                throw new IllegalArgumentException("Unknown criteria: " + criteria);
+            }
+        }
+    }
+
+    // Fitness that is common to all schedulers, independent of their internal representation. Values are summed in
+    // whole cents, the same as in FitnessEvaluator, so both give exactly the same fitness for the same schedule.
+    public double fitness(List<ScheduleEntry> schedule) {
+        return switch (criteria) {
+            case MAXIMIZE_COUNT -> schedule.size();
+            case MAXIMIZE_VALUE -> {
+                long valueCents = 0;
+                for (ScheduleEntry entry : schedule) {
+                    valueCents += entry.order().valueCents();
+                }
+                yield valueCents / 100.0;
+            }
+        };
+    }
+
+    // Returns whether the schedule is the new incumbent
+    public boolean offer(List<ScheduleEntry> schedule) {
+        return offer(schedule, null);
+    }
+
+    // scheduler - name of the scheduler that found the schedule
+    public boolean offer(List<ScheduleEntry> schedule, String scheduler) {
+        Incumbent candidate = new Incumbent(schedule, fitness(schedule), scheduler);
+        Incumbent current;
+        do {
+            current = best.get();
+            if (current != null && current.fitness() >= candidate.fitness()) {
+                return false;
+            }
+        } while (!best.compareAndSet(current, candidate));
+        listener.incumbentImproved(scheduler, candidate.fitness(), elapsed());
+
+        if (!subscribers.isEmpty()) {
+            notifySubscribers();
+        }
+        checkUpperBound(candidate);
+        return true;
+    }
+
+    // Returns right away if another thread is notifying, it also sees the new incumbent or subscribers. The check after
+    // the flag is cleared catches those that arrived after that thread's last look but before it cleared the flag.
+    private void notifySubscribers() {
+        while (notifying.compareAndSet(false, true)) {
+            try {
+                Consumer<Incumbent> subscriber;
+                while ((subscriber = newSubscribers.poll()) != null) {
+                    subscribers.add(subscriber);
+                    // Otherwise the new subscriber is notified of the better incumbent together with the others
+                    if (notified != null && !isNewerThanNotified(best.get())) {
+                        subscriber.accept(notified);
+                    }
+                }
+                Incumbent current;
+                while (isNewerThanNotified(current = best.get())) {
+                    notified = current;
+                    for (Consumer<Incumbent> other : subscribers) {
+                        other.accept(current);
+                    }
+                }
+            } finally {
+                notifying.set(false);
+            }
+            if (newSubscribers.isEmpty() && !isNewerThanNotified(best.get())) {
+                return;
+            }
+        }
+    }
+
+    private boolean isNewerThanNotified(Incumbent incumbent) {
+        Incumbent last = notified;
+        return incumbent != null && (last == null || incumbent.fitness() > last.fitness());
+    }
+
+    // For a scheduler that has proven the schedule optimal. Another schedule of the same fitness may stay the incumbent,
+    // it is just as good.
+    public void offerOptimal(List<ScheduleEntry> schedule, String scheduler) {
+        offer(schedule, scheduler);
+        optimal = true;
+        cancel();
+    }
+
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    // Every bound holds, so the lowest one is kept. The current incumbent may already be close enough.
+    public void setUpperBound(double upperBound) {
+        synchronized (this) {
+            this.upperBound = Math.min(this.upperBound, upperBound);
+        }
+        best().ifPresent(this::checkUpperBound);
+    }
+
+    // Positive infinity until a bound is set
+    public double upperBound() {
+        return upperBound;
+    }
+
+    private void checkUpperBound(Incumbent incumbent) {
+        double bound = upperBound;
+        if (bound == Double.POSITIVE_INFINITY) {
+            return;
+        }
+        if (UpperBound.reaches(incumbent.fitness(), bound)) {
+            optimal = true;
+            cancel();
+        } else if (UpperBound.gap(incumbent.fitness(), bound) <= relativeGapLimit) {
+            cancel();
+        }
+    }
+
+    // Lets schedulers skip building a schedule that wouldn't be accepted anyway
+    public boolean improves(double fitness) {
+        Incumbent current = best.get();
+        return current == null || fitness > current.fitness();
+    }
+
+    public SchedulerListener listener() {
+        return listener;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    public Optional<Incumbent> best() {
+        return Optional.ofNullable(best.get());
+    }
+
+    // The subscriber is notified of the current incumbent, if there is one: right away, unless another thread is
+    // notifying the subscribers at the moment, then by that thread
+    public void subscribe(Consumer<Incumbent> subscriber) {
+        newSubscribers.add(subscriber);
+        notifySubscribers();
+    }
+
+    public void unsubscribe(Consumer<Incumbent> subscriber) {
+        newSubscribers.remove(subscriber);
+        subscribers.remove(subscriber);
+    }
+
+    public void cancel() {
+        cancelled = true;
+        cancelActions.forEach(Runnable::run);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Lets a scheduler interrupt a blocking search, the action is run right away if already cancelled
+    void addCancelAction(Runnable action) {
+        cancelActions.add(action);
+        if (cancelled) {
+            action.run();
+        }
+    }
+
+    void removeCancelAction(Runnable action) {
+        cancelActions.remove(action);
+    }
+}
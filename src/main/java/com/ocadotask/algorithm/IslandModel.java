@@ -0,0 +1,121 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Gene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.EvolutionInterceptor;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+// Runs one evolution per island, each on its own thread with its own random generator.
+// Islands are connected in a ring: every migrationInterval generations an island sends copies of its best phenotypes
+// to the next island over a lock-free queue, where they replace the worst individuals at the start of the next generation.
+// The best phenotype seen by any island is tracked globally.
+final class IslandModel<G extends Gene<?, G>> {
+
+    private final int islands;
+    private final int migrationInterval;
+    private final int migrationSize;
+    private final List<Queue<Phenotype<G, Double>>> inboxes;
+    private final AtomicReference<Phenotype<G, Double>> globalBest = new AtomicReference<>();
+
+    IslandModel(int islands, int migrationInterval, int migrationSize) {
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrationSize = migrationSize;
+        this.inboxes = new ArrayList<>(islands);
+        for (int island = 0; island < islands; island++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    // Must be installed in the engine of the given island
+    EvolutionInterceptor<G, Double> migrationInterceptor(int island) {
+        Queue<Phenotype<G, Double>> inbox = inboxes.get(island);
+        Queue<Phenotype<G, Double>> neighbourInbox = inboxes.get((island + 1) % islands);
+        return EvolutionInterceptor.of(
+                start -> immigrate(start, inbox),
+                result -> {
+                    updateGlobalBest(result.bestPhenotype());
+                    if (result.generation() % migrationInterval == 0) {
+                        emigrate(result, neighbourInbox);
+                    }
+                    return result;
+                });
+    }
+
+    // Runs the evolution of every island in parallel and returns the best phenotype found by any of them
+    Phenotype<G, Double> run(IntFunction<Phenotype<G, Double>> evolution) {
+        SplittableRandom seeds = new SplittableRandom();
+        ExecutorService executorService = Executors.newFixedThreadPool(islands);
+        try {
+            List<Future<Phenotype<G, Double>>> futures = new ArrayList<>(islands);
+            for (int island = 0; island < islands; island++) {
+                int islandIndex = island;
+                SplittableRandom random = seeds.split();
+                // The random generator is bound to the island thread, so every island explores with a different seed
+                futures.add(executorService.submit(() -> RandomRegistry.with(random, r -> evolution.apply(islandIndex))));
+            }
+            for (Future<Phenotype<G, Double>> future : futures) {
+                updateGlobalBest(future.get());
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            throw new RuntimeException("Error while executing island", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return globalBest.get();
+    }
+
+    private void updateGlobalBest(Phenotype<G, Double> candidate) {
+        globalBest.accumulateAndGet(candidate, (best, other) -> best == null || other.fitness() > best.fitness() ? other : best);
+    }
+
+    private void emigrate(EvolutionResult<G, Double> result, Queue<Phenotype<G, Double>> neighbourInbox) {
+        result.population().stream()
+                .sorted(Comparator.comparing(Phenotype<G, Double>::fitness).reversed())
+                .limit(migrationSize)
+                .forEach(neighbourInbox::offer);
+    }
+
+    private EvolutionStart<G, Double> immigrate(EvolutionStart<G, Double> start, Queue<Phenotype<G, Double>> inbox) {
+        if (inbox.isEmpty() || start.population().isEmpty()) {
+            return start;
+        }
+
+        ISeq<Phenotype<G, Double>> population = start.population();
+        // Not evaluated individuals (only possible in the first generation) are replaced first
+        Integer[] worstFirst = new Integer[population.length()];
+        for (int index = 0; index < worstFirst.length; index++) {
+            worstFirst[index] = index;
+        }
+        Arrays.sort(worstFirst, Comparator.comparingDouble(index ->
+                population.get(index).isEvaluated() ? population.get(index).fitness() : Double.NEGATIVE_INFINITY));
+
+        MSeq<Phenotype<G, Double>> newPopulation = population.copy();
+        Phenotype<G, Double> immigrant;
+        int replaced = 0;
+        while (replaced < worstFirst.length && (immigrant = inbox.poll()) != null) {
+            newPopulation.set(worstFirst[replaced++], immigrant.withGeneration(start.generation()));
+        }
+
+        return EvolutionStart.of(newPopulation.toISeq(), start.generation());
+    }
+}
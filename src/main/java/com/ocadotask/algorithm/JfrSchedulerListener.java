@@ -0,0 +1,201 @@
+package com.ocadotask.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.time.Duration;
+
+// Commits the telemetry as JDK Flight Recorder events, e.g. with -XX:StartFlightRecording=filename=run.jfr.
+// Events are only created while a recording has them enabled, otherwise every call is a cheap check.
+public class JfrSchedulerListener implements SchedulerListener {
+
+    @Override
+    public void phaseCompleted(String scheduler, String phase, Duration duration) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.phase = phase;
+            event.phaseDuration = duration.toNanos();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void generationCompleted(String scheduler, long generation, long evaluations, double bestFitness,
+                                    Duration elapsed) {
+        GenerationEvent event = new GenerationEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.generation = generation;
+            event.evaluations = evaluations;
+            event.bestFitness = bestFitness;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void modelSolved(String scheduler, String status, double objective, double bound, Duration duration) {
+        ModelSolvedEvent event = new ModelSolvedEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.status = status;
+            event.objective = objective;
+            event.bound = bound;
+            event.solveDuration = duration.toNanos();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void incumbentImproved(String scheduler, double fitness, Duration elapsed) {
+        IncumbentEvent event = new IncumbentEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.fitness = fitness;
+            event.elapsed = elapsed.toNanos();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void ordersPreprocessed(String scheduler, int feasibleOrders, int infeasibleOrders, int dominatedOrders) {
+        PreprocessingEvent event = new PreprocessingEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.feasibleOrders = feasibleOrders;
+            event.infeasibleOrders = infeasibleOrders;
+            event.dominatedOrders = dominatedOrders;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void upperBoundComputed(String scheduler, double upperBound, Duration duration) {
+        UpperBoundEvent event = new UpperBoundEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.bound = upperBound;
+            event.computeDuration = duration.toNanos();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void scheduleSelected(String scheduler, double fitness, Duration elapsed) {
+        ScheduleSelectedEvent event = new ScheduleSelectedEvent();
+        if (event.isEnabled()) {
+            event.scheduler = scheduler;
+            event.fitness = fitness;
+            event.elapsed = elapsed.toNanos();
+            event.commit();
+        }
+    }
+
+    @Name("com.ocadotask.Phase")
+    @Label("Scheduler Phase")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Phase")
+        String phase;
+        @Label("Phase Duration")
+        @Timespan
+        long phaseDuration;
+    }
+
+    @Name("com.ocadotask.Generation")
+    @Label("Generation")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class GenerationEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Generation")
+        long generation;
+        @Label("Fitness Evaluations")
+        long evaluations;
+        @Label("Best Fitness")
+        double bestFitness;
+    }
+
+    @Name("com.ocadotask.ModelSolved")
+    @Label("CP-SAT Model Solved")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class ModelSolvedEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Status")
+        String status;
+        @Label("Objective")
+        double objective;
+        @Label("Objective Bound")
+        double bound;
+        @Label("Solve Duration")
+        @Timespan
+        long solveDuration;
+    }
+
+    @Name("com.ocadotask.Incumbent")
+    @Label("Incumbent Improved")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class IncumbentEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Fitness")
+        double fitness;
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+
+    @Name("com.ocadotask.Preprocessing")
+    @Label("Orders Preprocessed")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class PreprocessingEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Feasible Orders")
+        int feasibleOrders;
+        @Label("Infeasible Orders")
+        int infeasibleOrders;
+        @Label("Dominated Orders")
+        int dominatedOrders;
+    }
+
+    @Name("com.ocadotask.UpperBound")
+    @Label("Upper Bound Computed")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class UpperBoundEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Upper Bound")
+        double bound;
+        @Label("Compute Duration")
+        @Timespan
+        long computeDuration;
+    }
+
+    @Name("com.ocadotask.ScheduleSelected")
+    @Label("Schedule Selected")
+    @Category("Ocado Task")
+    @StackTrace(false)
+    static class ScheduleSelectedEvent extends Event {
+        @Label("Scheduler")
+        String scheduler;
+        @Label("Fitness")
+        double fitness;
+        @Label("Elapsed")
+        @Timespan
+        long elapsed;
+    }
+}
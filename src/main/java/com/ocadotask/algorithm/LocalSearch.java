@@ -0,0 +1,118 @@
+package com.ocadotask.algorithm;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Improves a schedule by moving single orders between pickers (first improvement). Such a move only changes the
+// timelines of the source and the target picker, so its delta fitness is computed by simulating these two pickers
+// instead of re-evaluating the whole schedule.
+final class LocalSearch {
+
+    private final FitnessEvaluator evaluator;
+    private final int moveAttempts;
+
+    LocalSearch(FitnessEvaluator evaluator, int moveAttempts) {
+        this.evaluator = evaluator;
+        this.moveAttempts = moveAttempts;
+    }
+
+    // Modifies pickerAssignment in place and returns the fitness of the improved schedule. Scores are summed in units
+    // of the evaluator's scoreScale, like in FitnessEvaluator.evaluate.
+    double improve(int[] pickerAssignment, int[] orderSequence, RandomGenerator random) {
+        int numPickers = evaluator.numPickers();
+        int length = orderSequence.length;
+
+        // Positions of every picker, in the sequence order
+        int[][] pickerPositions = new int[numPickers][];
+        int[] pickerSizes = new int[numPickers];
+        for (int position = 0; position < length; position++) {
+            pickerSizes[pickerAssignment[position]]++;
+        }
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerPositions[pickerIndex] = new int[Math.max(4, pickerSizes[pickerIndex])];
+            pickerSizes[pickerIndex] = 0;
+        }
+        for (int position = 0; position < length; position++) {
+            int pickerIndex = pickerAssignment[position];
+            pickerPositions[pickerIndex][pickerSizes[pickerIndex]++] = position;
+        }
+
+        double[] pickerScores = new double[numPickers];
+        double fitness = 0;
+        for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+            pickerScores[pickerIndex] = simulate(pickerIndex, pickerPositions[pickerIndex], pickerSizes[pickerIndex], -1, -1, orderSequence);
+            fitness += pickerScores[pickerIndex];
+        }
+
+        if (numPickers < 2 || length == 0) {
+            return fitness / evaluator.scoreScale();
+        }
+
+        for (int attempt = 0; attempt < moveAttempts; attempt++) {
+            int position = random.nextInt(length);
+            int source = pickerAssignment[position];
+            int target = random.nextInt(numPickers - 1);
+            if (target >= source) {
+                target++;
+            }
+
+            double sourceScore = simulate(source, pickerPositions[source], pickerSizes[source], position, -1, orderSequence);
+            double targetScore = simulate(target, pickerPositions[target], pickerSizes[target], -1, position, orderSequence);
+            double delta = sourceScore + targetScore - pickerScores[source] - pickerScores[target];
+            if (delta <= 0) {
+                continue;
+            }
+
+            remove(pickerPositions[source], pickerSizes[source]--, position);
+            if (pickerSizes[target] == pickerPositions[target].length) {
+                pickerPositions[target] = Arrays.copyOf(pickerPositions[target], pickerSizes[target] * 2);
+            }
+            insert(pickerPositions[target], pickerSizes[target]++, position);
+            pickerAssignment[position] = target;
+            pickerScores[source] = sourceScore;
+            pickerScores[target] = targetScore;
+            fitness += delta;
+        }
+
+        return fitness / evaluator.scoreScale();
+    }
+
+    // Simulates a single picker over its sorted positions, optionally without skippedPosition and/or with insertedPosition
+    private double simulate(int pickerIndex, int[] positions, int size, int skippedPosition, int insertedPosition,
+                            int[] orderSequence) {
+        long clock = evaluator.pickerStartTimeInSeconds(pickerIndex);
+        double score = 0;
+        int index = 0;
+        boolean inserted = insertedPosition < 0;
+        while (index < size || !inserted) {
+            int position;
+            if (!inserted && (index == size || insertedPosition < positions[index])) {
+                position = insertedPosition;
+                inserted = true;
+            } else {
+                position = positions[index++];
+                if (position == skippedPosition) {
+                    continue;
+                }
+            }
+
+            int orderIndex = orderSequence[position];
+            if (clock <= evaluator.startDeadlineInSeconds(orderIndex)) {
+                clock += evaluator.pickingDurationInSeconds(orderIndex);
+                score += evaluator.score(orderIndex);
+            }
+        }
+        return score;
+    }
+
+    private static void remove(int[] positions, int size, int position) {
+        int index = Arrays.binarySearch(positions, 0, size, position);
+        System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+    }
+
+    private static void insert(int[] positions, int size, int position) {
+        int index = -Arrays.binarySearch(positions, 0, size, position) - 1;
+        System.arraycopy(positions, index, positions, index + 1, size - index);
+        positions[index] = position;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.Gene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+// Memetic step: the best already evaluated individuals of the altered population are improved with LocalSearch.
+// Improved individuals are returned together with their fitness, so the engine does not evaluate them again.
+final class LocalSearchAlterer<G extends Gene<?, G>> implements Alterer<G, Double> {
+
+    private final ScheduleEncoding<G> encoding;
+    private final LocalSearch localSearch;
+    private final int elites;
+
+    LocalSearchAlterer(ScheduleEncoding<G> encoding, LocalSearch localSearch, int elites) {
+        this.encoding = encoding;
+        this.localSearch = localSearch;
+        this.elites = elites;
+    }
+
+    @Override
+    public AltererResult<G, Double> alter(Seq<Phenotype<G, Double>> population, long generation) {
+        RandomGenerator random = RandomRegistry.random();
+        MSeq<Phenotype<G, Double>> result = MSeq.of(population);
+
+        int[] eliteIndices = IntStream.range(0, result.length())
+                .filter(index -> result.get(index).isEvaluated())
+                .boxed()
+                .sorted(Comparator.comparing((Integer index) -> result.get(index).fitness()).reversed())
+                .limit(elites)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int alterations = 0;
+        for (int index : eliteIndices) {
+            Phenotype<G, Double> phenotype = result.get(index);
+            int length = encoding.numOrders();
+            int[] pickerAssignment = new int[length];
+            int[] orderSequence = new int[length];
+            encoding.decode(phenotype.genotype(), pickerAssignment, orderSequence);
+
+            double fitness = localSearch.improve(pickerAssignment, orderSequence, random);
+            if (fitness > phenotype.fitness()) {
+                result.set(index, Phenotype.of(encoding.encode(pickerAssignment, orderSequence), generation, fitness));
+                alterations++;
+            }
+        }
+
+        return new AltererResult<>(result.toISeq(), alterations);
+    }
+}
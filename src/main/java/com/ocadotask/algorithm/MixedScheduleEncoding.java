@@ -0,0 +1,74 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.*;
+import io.jenetics.util.ISeq;
+
+// Unfortunately that's the only way to implement a genotype with two chromosomes of different types
+// See: https://github.com/jenetics/jenetics/blob/master/jenetics.example/src/main/java/io/jenetics/example/MixedGenotype.java
+@SuppressWarnings({"rawtypes", "unchecked"})
+class MixedScheduleEncoding implements ScheduleEncoding {
+
+    private final int numOrders;
+    private final int numPickers;
+    private final Genotype genotypeFactory;
+
+    MixedScheduleEncoding(int numOrders, int numPickers) {
+        this.numOrders = numOrders;
+        this.numPickers = numPickers;
+        // Genotype consists of two chromosomes:
+        // 1. Picker mapping chromosome - i-th position is an index of the picker assigned to the order with index i in orderMappingChromosome
+        // 2. Order mapping chromosome - i-th position is an index of the order in orders list. This chromosome is a permutation of integers from 0
+        // to orders.size() - 1 it describes the sequence in which orders should be picked by a picker.
+        this.genotypeFactory = Genotype.of(
+                (Chromosome) IntegerChromosome.of(0, numPickers, numOrders),
+                (Chromosome) PermutationChromosome.ofInteger(0, numOrders)
+        );
+    }
+
+    @Override
+    public int numOrders() {
+        return numOrders;
+    }
+
+    @Override
+    public Genotype genotypeFactory() {
+        return genotypeFactory;
+    }
+
+    @Override
+    public Alterer defaultMutator(double probability) {
+        return new Mutator(probability);
+    }
+
+    @Override
+    public Alterer defaultCrossover(double probability) {
+        return new SinglePointCrossover(probability);
+    }
+
+    @Override
+    public void decode(Genotype genotype, int[] pickerAssignment, int[] orderSequence) {
+        IntegerChromosome pickerMappingChromosome = (IntegerChromosome) genotype.get(0);
+        PermutationChromosome<Integer> orderMappingChromosome = (PermutationChromosome<Integer>) genotype.get(1);
+
+        for (int position = 0; position < orderSequence.length; position++) {
+            pickerAssignment[position] = pickerMappingChromosome.get(position).intValue();
+            // Valid alleles are integers from 0 to orders.size() - 1, so the allele index is equal to the allele
+            orderSequence[position] = orderMappingChromosome.get(position).alleleIndex();
+        }
+    }
+
+    @Override
+    public Genotype encode(int[] pickerAssignment, int[] orderSequence) {
+        ISeq<Integer> validAlleles = ((PermutationChromosome<Integer>) genotypeFactory.get(1)).validAlleles();
+        IntegerGene[] pickerGenes = new IntegerGene[numOrders];
+        EnumGene<Integer>[] orderGenes = new EnumGene[numOrders];
+        for (int position = 0; position < numOrders; position++) {
+            pickerGenes[position] = IntegerGene.of(pickerAssignment[position], 0, numPickers);
+            orderGenes[position] = EnumGene.of(orderSequence[position], validAlleles);
+        }
+        return Genotype.of(
+                (Chromosome) IntegerChromosome.of(pickerGenes),
+                (Chromosome) new PermutationChromosome<>(ISeq.of(orderGenes))
+        );
+    }
+}
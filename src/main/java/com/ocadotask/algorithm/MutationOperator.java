@@ -0,0 +1,12 @@
+package com.ocadotask.algorithm;
+
+public enum MutationOperator {
+    // Jenetics Mutator for MIXED encoding, swap for COMPACT encoding
+    DEFAULT,
+    // Exchanges two positions
+    SWAP,
+    // Moves a position to another place in the sequence
+    INSERTION,
+    // Reverses a segment of the sequence (2-opt move)
+    INVERSION
+}
@@ -0,0 +1,183 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Shared preprocessing of orders before any model is built. An order can be started no later than its latest start
+// time, so that it is completed both by its completeBy time and by the end of the picking window.
+public final class OrderPreprocessor {
+
+    // Sort keys of the dominance check: latest start (reversed) and picking time of a feasible order are both within a
+    // day, followed by the order index
+    private static final int TIME_BITS = 17;
+    private static final int INDEX_BITS = 29;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private OrderPreprocessor() {
+    }
+
+    public static long latestStartTimeInSeconds(Order order, Store store) {
+        return Math.min(order.completeBy().toSecondOfDay(), store.pickingEndTime().toSecondOfDay()) - order.pickingTime().getSeconds();
+    }
+
+    public static long latestStartTimeInSeconds(OrderTable orders, int orderIndex, Store store) {
+        return Math.min(orders.completeBySeconds(orderIndex), store.pickingEndTime().toSecondOfDay()) - orders.pickingSeconds(orderIndex);
+    }
+
+    public static boolean isFeasible(Order order, Store store) {
+        return latestStartTimeInSeconds(order, store) >= store.pickingStartTime().toSecondOfDay();
+    }
+
+    // Returns the given list when all orders are feasible, so the common case doesn't copy anything
+    public static List<Order> removeInfeasibleOrders(List<Order> orders, Store store) {
+        int firstInfeasible = 0;
+        while (firstInfeasible < orders.size() && isFeasible(orders.get(firstInfeasible), store)) {
+            firstInfeasible++;
+        }
+        if (firstInfeasible == orders.size()) {
+            return orders;
+        }
+
+        List<Order> feasibleOrders = new ArrayList<>(orders.subList(0, firstInfeasible));
+        for (int orderIndex = firstInfeasible + 1; orderIndex < orders.size(); orderIndex++) {
+            if (isFeasible(orders.get(orderIndex), store)) {
+                feasibleOrders.add(orders.get(orderIndex));
+            }
+        }
+        return feasibleOrders;
+    }
+
+    // Returns the given table when all orders are feasible
+    public static OrderTable removeInfeasibleOrders(OrderTable orders, Store store) {
+        long pickingStartTime = store.pickingStartTime().toSecondOfDay();
+        int[] feasibleOrders = new int[orders.size()];
+        int feasibleCount = 0;
+        for (int orderIndex = 0; orderIndex < orders.size(); orderIndex++) {
+            if (latestStartTimeInSeconds(orders, orderIndex, store) >= pickingStartTime) {
+                feasibleOrders[feasibleCount++] = orderIndex;
+            }
+        }
+        if (feasibleCount == orders.size()) {
+            return orders;
+        }
+        return orders.select(Arrays.copyOf(feasibleOrders, feasibleCount));
+    }
+
+    public static PreprocessedOrders preprocess(List<Order> orders, Store store, SchedulerOptimizationCriteria criteria) {
+        List<Order> feasibleOrders = new ArrayList<>();
+        List<Order> infeasibleOrders = new ArrayList<>();
+        for (Order order : orders) {
+            (isFeasible(order, store) ? feasibleOrders : infeasibleOrders).add(order);
+        }
+        boolean[] dominated = findDominatedOrders(feasibleOrders, store, criteria);
+        List<Order> dominatedOrders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < feasibleOrders.size(); orderIndex++) {
+            if (dominated[orderIndex]) {
+                dominatedOrders.add(feasibleOrders.get(orderIndex));
+            }
+        }
+        return new PreprocessedOrders(feasibleOrders, infeasibleOrders, dominatedOrders);
+    }
+
+    // Number of dominated orders (see PreprocessedOrders) among orders that are all feasible
+    public static int countDominatedOrders(List<Order> feasibleOrders, Store store, SchedulerOptimizationCriteria criteria) {
+        return count(findDominatedOrders(feasibleOrders, store, criteria));
+    }
+
+    public static int countDominatedOrders(OrderTable feasibleOrders, Store store, SchedulerOptimizationCriteria criteria) {
+        int numOrders = feasibleOrders.size();
+        long[] latestStartTimes = new long[numOrders];
+        long[] pickingTimes = new long[numOrders];
+        long[] values = new long[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            latestStartTimes[orderIndex] = latestStartTimeInSeconds(feasibleOrders, orderIndex, store);
+            pickingTimes[orderIndex] = feasibleOrders.pickingSeconds(orderIndex);
+            values[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1;
+                case MAXIMIZE_VALUE -> feasibleOrders.valueCents(orderIndex);
+            };
+        }
+        return count(findDominatedOrders(latestStartTimes, pickingTimes, values));
+    }
+
+    private static boolean[] findDominatedOrders(List<Order> feasibleOrders, Store store, SchedulerOptimizationCriteria criteria) {
+        int numOrders = feasibleOrders.size();
+        long[] latestStartTimes = new long[numOrders];
+        long[] pickingTimes = new long[numOrders];
+        long[] values = new long[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            Order order = feasibleOrders.get(orderIndex);
+            latestStartTimes[orderIndex] = latestStartTimeInSeconds(order, store);
+            pickingTimes[orderIndex] = order.pickingTime().getSeconds();
+            values[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1;
+                case MAXIMIZE_VALUE -> order.valueCents();
+            };
+        }
+        return findDominatedOrders(latestStartTimes, pickingTimes, values);
+    }
+
+    // Orders are visited by decreasing latest start and then by increasing picking time, so every possible dominator of
+    // an order is visited before it, or together with it when both times are the same. A Fenwick tree over picking
+    // times holds the highest value among the visited orders with at most that picking time, which makes the whole
+    // check O(n log n). Of identical orders, all but the first are dominated.
+    private static boolean[] findDominatedOrders(long[] latestStartTimes, long[] pickingTimes, long[] values) {
+        int numOrders = values.length;
+        long[] sortKeys = new long[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            sortKeys[orderIndex] = (TIME_MASK - latestStartTimes[orderIndex]) << (TIME_BITS + INDEX_BITS)
+                    | pickingTimes[orderIndex] << INDEX_BITS | orderIndex;
+        }
+        Arrays.sort(sortKeys);
+
+        long[] distinctPickingTimes = Arrays.stream(pickingTimes).sorted().distinct().toArray();
+        long[] maxValues = new long[distinctPickingTimes.length + 1];
+        Arrays.fill(maxValues, Long.MIN_VALUE);
+
+        boolean[] dominated = new boolean[numOrders];
+        int groupStart = 0;
+        while (groupStart < numOrders) {
+            // Orders with the same latest start and picking time, of which only the first most valuable one may not be
+            // dominated
+            int groupEnd = groupStart + 1;
+            int keptOrder = (int) (sortKeys[groupStart] & INDEX_MASK);
+            while (groupEnd < numOrders && sortKeys[groupEnd] >>> INDEX_BITS == sortKeys[groupStart] >>> INDEX_BITS) {
+                int orderIndex = (int) (sortKeys[groupEnd++] & INDEX_MASK);
+                if (values[orderIndex] > values[keptOrder]) {
+                    keptOrder = orderIndex;
+                }
+            }
+
+            int rank = Arrays.binarySearch(distinctPickingTimes, pickingTimes[keptOrder]) + 1;
+            long maxValue = Long.MIN_VALUE;
+            for (int node = rank; node > 0; node -= node & -node) {
+                maxValue = Math.max(maxValue, maxValues[node]);
+            }
+            for (int position = groupStart; position < groupEnd; position++) {
+                int orderIndex = (int) (sortKeys[position] & INDEX_MASK);
+                dominated[orderIndex] = orderIndex != keptOrder || maxValue >= values[orderIndex];
+            }
+            for (int node = rank; node < maxValues.length; node += node & -node) {
+                maxValues[node] = Math.max(maxValues[node], values[keptOrder]);
+            }
+            groupStart = groupEnd;
+        }
+        return dominated;
+    }
+
+    private static int count(boolean[] flags) {
+        int count = 0;
+        for (boolean flag : flags) {
+            if (flag) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
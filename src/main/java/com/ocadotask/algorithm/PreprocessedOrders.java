@@ -0,0 +1,12 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+
+import java.util.List;
+
+// feasibleOrders - orders that can be picked within the picking window, in the original order
+// infeasibleOrders - orders that can't be picked in time by any picker, even when the store is empty
+// dominatedOrders - feasible orders dominated by another feasible order, which is at least as good in every respect:
+// its picking time is no longer, its latest start is no earlier and (when maximizing value) its value is no lower
+public record PreprocessedOrders(List<Order> feasibleOrders, List<Order> infeasibleOrders, List<Order> dominatedOrders) {
+}
@@ -0,0 +1,238 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Every individual takes part in a crossover with the given probability, its mate is chosen at random.
+// Order sequences are recombined with a permutation-aware operator, so children are always valid permutations.
+// The picker of an order follows the order: it is taken from the parent the order's position was inherited from.
+final class ScheduleCrossover<G extends Gene<?, G>> implements Alterer<G, Double> {
+
+    private final ScheduleEncoding<G> encoding;
+    private final CrossoverOperator operator;
+    private final double probability;
+
+    ScheduleCrossover(ScheduleEncoding<G> encoding, CrossoverOperator operator, double probability) {
+        if (operator == CrossoverOperator.DEFAULT) {
+            throw new IllegalArgumentException("Default operator is encoding specific");
+        }
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be in range [0, 1]: " + probability);
+        }
+        this.encoding = encoding;
+        this.operator = operator;
+        this.probability = probability;
+    }
+
+    @Override
+    public AltererResult<G, Double> alter(Seq<Phenotype<G, Double>> population, long generation) {
+        MSeq<Phenotype<G, Double>> result = MSeq.of(population);
+        if (result.length() < 2) {
+            return new AltererResult<>(result.toISeq());
+        }
+
+        RandomGenerator random = RandomRegistry.random();
+        int alterations = 0;
+        for (int index = 0; index < result.length(); index++) {
+            if (random.nextDouble() >= probability) {
+                continue;
+            }
+            int mateIndex = random.nextInt(result.length() - 1);
+            if (mateIndex >= index) {
+                mateIndex++;
+            }
+
+            int length = encoding.numOrders();
+            if (length < 2) {
+                continue;
+            }
+            int[] firstPickers = new int[length];
+            int[] firstSequence = new int[length];
+            int[] secondPickers = new int[length];
+            int[] secondSequence = new int[length];
+            encoding.decode(result.get(index).genotype(), firstPickers, firstSequence);
+            encoding.decode(result.get(mateIndex).genotype(), secondPickers, secondSequence);
+
+            int cutStart = random.nextInt(length);
+            int cutEnd = cutStart + 1 + random.nextInt(length - cutStart);
+            result.set(index, Phenotype.of(crossover(firstPickers, firstSequence, secondPickers, secondSequence, cutStart, cutEnd, random), generation));
+            result.set(mateIndex, Phenotype.of(crossover(secondPickers, secondSequence, firstPickers, firstSequence, cutStart, cutEnd, random), generation));
+            alterations += 2;
+        }
+
+        return new AltererResult<>(result.toISeq(), alterations);
+    }
+
+    private Genotype<G> crossover(int[] donorPickers, int[] donorSequence, int[] otherPickers, int[] otherSequence,
+                                  int cutStart, int cutEnd, RandomGenerator random) {
+        int length = donorSequence.length;
+        int[] orderSequence = switch (operator) {
+            case ORDER -> orderCrossover(donorSequence, otherSequence, cutStart, cutEnd);
+            case PARTIALLY_MATCHED -> partiallyMatchedCrossover(donorSequence, otherSequence, cutStart, cutEnd);
+            case EDGE_RECOMBINATION -> edgeRecombinationCrossover(donorSequence, otherSequence, random);
+            case DEFAULT -> throw new IllegalStateException("Default operator is encoding specific");
+        };
+
+        // Orders of the donor segment keep the donor's picker, all other orders keep the picker from the other parent.
+        // Edge recombination has no segment, so every order keeps the donor's picker.
+        int[] donorPickerByOrder = pickerByOrder(donorPickers, donorSequence);
+        int[] otherPickerByOrder = pickerByOrder(otherPickers, otherSequence);
+        boolean[] inDonorSegment = new boolean[length];
+        if (operator == CrossoverOperator.EDGE_RECOMBINATION) {
+            Arrays.fill(inDonorSegment, true);
+        } else {
+            for (int position = cutStart; position < cutEnd; position++) {
+                inDonorSegment[donorSequence[position]] = true;
+            }
+        }
+        int[] pickerAssignment = new int[length];
+        for (int position = 0; position < length; position++) {
+            int order = orderSequence[position];
+            pickerAssignment[position] = inDonorSegment[order] ? donorPickerByOrder[order] : otherPickerByOrder[order];
+        }
+
+        return encoding.encode(pickerAssignment, orderSequence);
+    }
+
+    private static int[] pickerByOrder(int[] pickerAssignment, int[] orderSequence) {
+        int[] pickerByOrder = new int[orderSequence.length];
+        for (int position = 0; position < orderSequence.length; position++) {
+            pickerByOrder[orderSequence[position]] = pickerAssignment[position];
+        }
+        return pickerByOrder;
+    }
+
+    // The child keeps [cutStart, cutEnd) of the donor and fills the remaining positions, starting at cutEnd,
+    // with the missing orders in the sequence they appear in the other parent
+    static int[] orderCrossover(int[] donor, int[] other, int cutStart, int cutEnd) {
+        int length = donor.length;
+        int[] child = new int[length];
+        boolean[] taken = new boolean[length];
+        for (int position = cutStart; position < cutEnd; position++) {
+            child[position] = donor[position];
+            taken[donor[position]] = true;
+        }
+
+        int target = cutEnd % length;
+        for (int offset = 0; offset < length; offset++) {
+            int order = other[(cutEnd + offset) % length];
+            if (taken[order]) {
+                continue;
+            }
+            child[target] = order;
+            target = (target + 1) % length;
+        }
+        return child;
+    }
+
+    // The child keeps [cutStart, cutEnd) of the donor, every other position takes the order of the other parent.
+    // Conflicting orders are resolved through the mapping donor[i] -> other[i] of the segment.
+    static int[] partiallyMatchedCrossover(int[] donor, int[] other, int cutStart, int cutEnd) {
+        int length = donor.length;
+        int[] child = new int[length];
+        int[] donorPositions = new int[length];
+        Arrays.fill(donorPositions, -1);
+        for (int position = cutStart; position < cutEnd; position++) {
+            child[position] = donor[position];
+            donorPositions[donor[position]] = position;
+        }
+
+        for (int position = 0; position < length; position++) {
+            if (position >= cutStart && position < cutEnd) {
+                continue;
+            }
+            int order = other[position];
+            while (donorPositions[order] >= 0) {
+                order = other[donorPositions[order]];
+            }
+            child[position] = order;
+        }
+        return child;
+    }
+
+    // Starts with the first order of the donor and repeatedly moves to the neighbour (in either parent, treated as
+    // cycles) with the fewest remaining neighbours. When there is none, a random unvisited order is taken.
+    static int[] edgeRecombinationCrossover(int[] donor, int[] other, RandomGenerator random) {
+        int length = donor.length;
+        int[][] neighbours = new int[length][4];
+        int[] neighbourCounts = new int[length];
+        addEdges(donor, neighbours, neighbourCounts);
+        addEdges(other, neighbours, neighbourCounts);
+
+        // Unvisited orders are kept in a dense array, so a random one can be taken and removed in O(1)
+        int[] unvisited = new int[length];
+        int[] unvisitedPositions = new int[length];
+        for (int order = 0; order < length; order++) {
+            unvisited[order] = order;
+            unvisitedPositions[order] = order;
+        }
+        int unvisitedCount = length;
+
+        int[] child = new int[length];
+        int current = donor[0];
+        for (int position = 0; position < length; position++) {
+            child[position] = current;
+
+            int last = unvisited[--unvisitedCount];
+            unvisited[unvisitedPositions[current]] = last;
+            unvisitedPositions[last] = unvisitedPositions[current];
+            unvisitedPositions[current] = -1;
+            if (unvisitedCount == 0) {
+                break;
+            }
+
+            int next = -1;
+            int nextNeighbourCount = Integer.MAX_VALUE;
+            for (int index = 0; index < neighbourCounts[current]; index++) {
+                int neighbour = neighbours[current][index];
+                removeEdge(neighbour, current, neighbours, neighbourCounts);
+                if (unvisitedPositions[neighbour] < 0) {
+                    continue;
+                }
+                if (neighbourCounts[neighbour] < nextNeighbourCount
+                        || (neighbourCounts[neighbour] == nextNeighbourCount && random.nextBoolean())) {
+                    next = neighbour;
+                    nextNeighbourCount = neighbourCounts[neighbour];
+                }
+            }
+            current = next >= 0 ? next : unvisited[random.nextInt(unvisitedCount)];
+        }
+        return child;
+    }
+
+    private static void addEdges(int[] sequence, int[][] neighbours, int[] neighbourCounts) {
+        int length = sequence.length;
+        for (int position = 0; position < length; position++) {
+            int order = sequence[position];
+            addEdge(order, sequence[(position + 1) % length], neighbours, neighbourCounts);
+            addEdge(order, sequence[(position + length - 1) % length], neighbours, neighbourCounts);
+        }
+    }
+
+    private static void addEdge(int order, int neighbour, int[][] neighbours, int[] neighbourCounts) {
+        for (int index = 0; index < neighbourCounts[order]; index++) {
+            if (neighbours[order][index] == neighbour) {
+                return;
+            }
+        }
+        neighbours[order][neighbourCounts[order]++] = neighbour;
+    }
+
+    private static void removeEdge(int order, int neighbour, int[][] neighbours, int[] neighbourCounts) {
+        for (int index = 0; index < neighbourCounts[order]; index++) {
+            if (neighbours[order][index] == neighbour) {
+                neighbours[order][index] = neighbours[order][--neighbourCounts[order]];
+                return;
+            }
+        }
+    }
+}
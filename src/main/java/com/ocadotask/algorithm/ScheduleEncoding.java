@@ -0,0 +1,27 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Alterer;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+
+// Maps a genotype to the primitive (pickerAssignment, orderSequence) form understood by FitnessEvaluator and back
+interface ScheduleEncoding<G extends Gene<?, G>> {
+
+    int numOrders();
+
+    Genotype<G> genotypeFactory();
+
+    Alterer<G, Double> defaultMutator(double probability);
+
+    Alterer<G, Double> defaultCrossover(double probability);
+
+    void decode(Genotype<G> genotype, int[] pickerAssignment, int[] orderSequence);
+
+    // Implementations may keep references to the given arrays, callers must not modify them afterwards
+    Genotype<G> encode(int[] pickerAssignment, int[] orderSequence);
+
+    default double evaluate(Genotype<G> genotype, FitnessEvaluator evaluator, int[] pickerAssignment, int[] orderSequence) {
+        decode(genotype, pickerAssignment, orderSequence);
+        return evaluator.evaluate(pickerAssignment, orderSequence);
+    }
+}
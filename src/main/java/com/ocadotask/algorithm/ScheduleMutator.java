@@ -0,0 +1,120 @@
+package com.ocadotask.algorithm;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.Gene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+import java.util.random.RandomGenerator;
+
+// Every individual is mutated with the given probability. A mutated individual gets one move, and every further move
+// with the same probability again (up to the sequence length). A move either assigns a random picker to a random
+// position or rearranges the order sequence with the configured permutation move. Pickers move together with their
+// orders.
+final class ScheduleMutator<G extends Gene<?, G>> implements Alterer<G, Double> {
+
+    private final ScheduleEncoding<G> encoding;
+    private final MutationOperator operator;
+    private final int numPickers;
+    private final double probability;
+
+    ScheduleMutator(ScheduleEncoding<G> encoding, MutationOperator operator, int numPickers, double probability) {
+        if (operator == MutationOperator.DEFAULT) {
+            throw new IllegalArgumentException("Default operator is encoding specific");
+        }
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be in range [0, 1]: " + probability);
+        }
+        this.encoding = encoding;
+        this.operator = operator;
+        this.numPickers = numPickers;
+        this.probability = probability;
+    }
+
+    @Override
+    public AltererResult<G, Double> alter(Seq<Phenotype<G, Double>> population, long generation) {
+        RandomGenerator random = RandomRegistry.random();
+        MSeq<Phenotype<G, Double>> result = MSeq.of(population);
+
+        int alterations = 0;
+        for (int index = 0; index < result.length(); index++) {
+            if (random.nextDouble() >= probability) {
+                continue;
+            }
+            int length = encoding.numOrders();
+            int[] pickerAssignment = new int[length];
+            int[] orderSequence = new int[length];
+            encoding.decode(result.get(index).genotype(), pickerAssignment, orderSequence);
+
+            // The number of moves is bounded by the length, so probability 1 does not loop forever
+            int moves = 0;
+            do {
+                mutate(pickerAssignment, orderSequence, random);
+            } while (++moves < length && random.nextDouble() < probability);
+
+            result.set(index, Phenotype.of(encoding.encode(pickerAssignment, orderSequence), generation));
+            alterations++;
+        }
+
+        return new AltererResult<>(result.toISeq(), alterations);
+    }
+
+    private void mutate(int[] pickerAssignment, int[] orderSequence, RandomGenerator random) {
+        int length = orderSequence.length;
+        if (length == 0) {
+            return;
+        }
+        if (length == 1 || random.nextBoolean()) {
+            pickerAssignment[random.nextInt(length)] = random.nextInt(numPickers);
+            return;
+        }
+
+        int from = random.nextInt(length);
+        int to = random.nextInt(length - 1);
+        if (to >= from) {
+            to++;
+        }
+        switch (operator) {
+            case SWAP -> {
+                swap(orderSequence, from, to);
+                swap(pickerAssignment, from, to);
+            }
+            case INSERTION -> {
+                move(orderSequence, from, to);
+                move(pickerAssignment, from, to);
+            }
+            case INVERSION -> {
+                reverse(orderSequence, Math.min(from, to), Math.max(from, to));
+                reverse(pickerAssignment, Math.min(from, to), Math.max(from, to));
+            }
+            case DEFAULT -> throw new IllegalStateException("Default operator is encoding specific");
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    // Removes the element at position from and inserts it at position to, shifting the elements in between
+    private static void move(int[] array, int from, int to) {
+        int value = array[from];
+        if (from < to) {
+            System.arraycopy(array, from + 1, array, from, to - from);
+        } else {
+            System.arraycopy(array, to, array, to + 1, from - to);
+        }
+        array[to] = value;
+    }
+
+    // Reverses [from, to], both ends inclusive
+    private static void reverse(int[] array, int from, int to) {
+        while (from < to) {
+            swap(array, from++, to--);
+        }
+    }
+}
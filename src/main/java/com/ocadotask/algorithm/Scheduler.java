@@ -1,12 +1,73 @@
 package com.ocadotask.algorithm;
 
 import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 public interface Scheduler {
 
     List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds);
+
+    // Identifies the scheduler in incumbents and telemetry
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    // Seed schedules (from a heuristic, another scheduler or a previous plan) are used as a starting point
+    // by schedulers that support it, the others ignore them
+    default List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                  List<List<ScheduleEntry>> seedSchedules) {
+        return calculateSchedule(orders, store, timeLimitInSeconds);
+    }
+
+    // Schedulers that work on primitive arrays read the columns directly, the others get a view of Order objects
+    default List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds) {
+        return calculateSchedule(orders.toOrders(), store, timeLimitInSeconds);
+    }
+
+    // Anytime variant: schedulers that search offer every improved schedule to incumbents as soon as they find it and
+    // stop early once incumbents is cancelled, the others only offer the final schedule. The final schedule is returned.
+    default List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, int timeLimitInSeconds,
+                                                  IncumbentHolder incumbents) {
+        List<ScheduleEntry> schedule = calculateSchedule(orders, store, timeLimitInSeconds);
+        incumbents.offer(schedule, name());
+        return schedule;
+    }
+
+    default List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, int timeLimitInSeconds,
+                                                  IncumbentHolder incumbents) {
+        List<ScheduleEntry> schedule = calculateSchedule(orders, store, timeLimitInSeconds);
+        incumbents.offer(schedule, name());
+        return schedule;
+    }
+
+    // Deadline variant: the search stops by the deadline (an absolute point in time) or once incumbents is cancelled,
+    // whichever comes first. Schedulers without their own deadline handling get the whole seconds left.
+    default List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                  IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, secondsUntil(deadline), incumbents);
+    }
+
+    default List<ScheduleEntry> calculateSchedule(OrderTable orders, Store store, Instant deadline,
+                                                  IncumbentHolder incumbents) {
+        return calculateSchedule(orders, store, secondsUntil(deadline), incumbents);
+    }
+
+    // Deadline variant with seed schedules. The seeds are offered to incumbents before the search starts, so the
+    // incumbent is never worse than the best seed and schedulers that pick up incumbents continue from it. Schedulers
+    // that support seeds start from all of them as well.
+    default List<ScheduleEntry> calculateSchedule(List<Order> orders, Store store, Instant deadline,
+                                                  IncumbentHolder incumbents, List<List<ScheduleEntry>> seedSchedules) {
+        seedSchedules.forEach(incumbents::offer);
+        return calculateSchedule(orders, store, deadline, incumbents);
+    }
+
+    private static int secondsUntil(Instant deadline) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Duration.between(Instant.now(), deadline).getSeconds()));
+    }
 }
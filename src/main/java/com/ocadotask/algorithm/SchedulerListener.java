@@ -0,0 +1,83 @@
+package com.ocadotask.algorithm;
+
+import java.time.Duration;
+import java.util.List;
+
+// Telemetry of a scheduling run, passed to the schedulers with the IncumbentHolder. Schedulers are identified by
+// Scheduler.name, elapsed times are measured from the creation of the holder. Methods are called from the schedulers'
+// threads, often several at the same time, so implementations have to be thread-safe and quick.
+public interface SchedulerListener {
+
+    SchedulerListener NONE = new SchedulerListener() {
+    };
+
+    // A part of the run that is not searching, e.g. reading the input or building a model
+    default void phaseCompleted(String scheduler, String phase, Duration duration) {
+    }
+
+    // evaluations - fitness evaluations in this generation, bestFitness - the best fitness of the population
+    default void generationCompleted(String scheduler, long generation, long evaluations, double bestFitness,
+                                     Duration elapsed) {
+    }
+
+    // A CP-SAT model (the whole problem or a rolling horizon window) has been solved. objective and bound are in the
+    // units of the fitness, status is the solver status.
+    default void modelSolved(String scheduler, String status, double objective, double bound, Duration duration) {
+    }
+
+    default void incumbentImproved(String scheduler, double fitness, Duration elapsed) {
+    }
+
+    // Orders left after removing the infeasible ones, of which dominatedOrders are dominated (see PreprocessedOrders)
+    default void ordersPreprocessed(String scheduler, int feasibleOrders, int infeasibleOrders, int dominatedOrders) {
+    }
+
+    // No schedule can be better than upperBound, see UpperBound
+    default void upperBoundComputed(String scheduler, double upperBound, Duration duration) {
+    }
+
+    // The schedule that is returned, by the scheduler that found it
+    default void scheduleSelected(String scheduler, double fitness, Duration elapsed) {
+    }
+
+    static SchedulerListener compose(SchedulerListener... listeners) {
+        List<SchedulerListener> all = List.of(listeners);
+        return new SchedulerListener() {
+            @Override
+            public void phaseCompleted(String scheduler, String phase, Duration duration) {
+                all.forEach(listener -> listener.phaseCompleted(scheduler, phase, duration));
+            }
+
+            @Override
+            public void generationCompleted(String scheduler, long generation, long evaluations, double bestFitness,
+                                            Duration elapsed) {
+                all.forEach(listener -> listener.generationCompleted(scheduler, generation, evaluations, bestFitness, elapsed));
+            }
+
+            @Override
+            public void modelSolved(String scheduler, String status, double objective, double bound, Duration duration) {
+                all.forEach(listener -> listener.modelSolved(scheduler, status, objective, bound, duration));
+            }
+
+            @Override
+            public void incumbentImproved(String scheduler, double fitness, Duration elapsed) {
+                all.forEach(listener -> listener.incumbentImproved(scheduler, fitness, elapsed));
+            }
+
+            @Override
+            public void ordersPreprocessed(String scheduler, int feasibleOrders, int infeasibleOrders, int dominatedOrders) {
+                all.forEach(listener -> listener.ordersPreprocessed(scheduler, feasibleOrders, infeasibleOrders, dominatedOrders));
+            }
+
+            @Override
+            public void upperBoundComputed(String scheduler, double upperBound, Duration duration) {
+                all.forEach(listener -> listener.upperBoundComputed(scheduler, upperBound, duration));
+            }
+
+            @Override
+            public void scheduleSelected(String scheduler, double fitness, Duration elapsed) {
+                all.forEach(listener -> listener.scheduleSelected(scheduler, fitness, elapsed));
+            }
+        };
+    }
+}
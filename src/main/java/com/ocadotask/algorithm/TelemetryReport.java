@@ -0,0 +1,141 @@
+package com.ocadotask.algorithm;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Collects the telemetry of a run for a JSON report:
+// phases - [{scheduler, phase, millis}]
+// generations - {scheduler: {generations, evaluations, generationsPerSecond, evaluationsPerSecond,
+//                bestFitness: [{millis, fitness}]}}, rates over the time from the first to the last generation,
+//               the curve has a point for every generation that improved the best fitness of the scheduler
+// models - [{scheduler, status, objective, bound, gap, millis}], gap relative to the objective
+// incumbents - [{scheduler, fitness, millis}], the best fitness of the run over time
+// preprocessing - {scheduler, feasibleOrders, infeasibleOrders, dominatedOrders}
+// upperBound - {scheduler, bound, millis}, millis is the time it took to compute the bound
+// selected - {scheduler, fitness, millis, gap}, gap relative to the upper bound, only if one was computed
+public class TelemetryReport implements SchedulerListener {
+
+    private final JSONArray phases = new JSONArray();
+    private final Map<String, GenerationStatistics> generations = new LinkedHashMap<>();
+    private final JSONArray models = new JSONArray();
+    private final JSONArray incumbents = new JSONArray();
+    private JSONObject preprocessing;
+    private JSONObject upperBound;
+    private JSONObject selected;
+
+    private static class GenerationStatistics {
+        long generations;
+        long evaluations;
+        long firstMillis = -1;
+        long lastMillis;
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        final JSONArray bestFitnessCurve = new JSONArray();
+    }
+
+    @Override
+    public synchronized void phaseCompleted(String scheduler, String phase, Duration duration) {
+        phases.put(new JSONObject()
+                .put("scheduler", scheduler)
+                .put("phase", phase)
+                .put("millis", duration.toMillis()));
+    }
+
+    @Override
+    public synchronized void generationCompleted(String scheduler, long generation, long evaluations, double bestFitness,
+                                                 Duration elapsed) {
+        GenerationStatistics statistics = generations.computeIfAbsent(scheduler, key -> new GenerationStatistics());
+        statistics.generations++;
+        statistics.evaluations += evaluations;
+        if (statistics.firstMillis < 0) {
+            statistics.firstMillis = elapsed.toMillis();
+        }
+        statistics.lastMillis = elapsed.toMillis();
+        if (bestFitness > statistics.bestFitness) {
+            statistics.bestFitness = bestFitness;
+            statistics.bestFitnessCurve.put(new JSONObject()
+                    .put("millis", elapsed.toMillis())
+                    .put("fitness", bestFitness));
+        }
+    }
+
+    @Override
+    public synchronized void modelSolved(String scheduler, String status, double objective, double bound,
+                                         Duration duration) {
+        models.put(new JSONObject()
+                .put("scheduler", scheduler)
+                .put("status", status)
+                .put("objective", objective)
+                .put("bound", bound)
+                .put("gap", Math.abs(bound - objective) / Math.max(1, Math.abs(objective)))
+                .put("millis", duration.toMillis()));
+    }
+
+    @Override
+    public synchronized void incumbentImproved(String scheduler, double fitness, Duration elapsed) {
+        incumbents.put(new JSONObject()
+                .put("scheduler", scheduler == null ? JSONObject.NULL : scheduler)
+                .put("fitness", fitness)
+                .put("millis", elapsed.toMillis()));
+    }
+
+    @Override
+    public synchronized void ordersPreprocessed(String scheduler, int feasibleOrders, int infeasibleOrders,
+                                                int dominatedOrders) {
+        preprocessing = new JSONObject()
+                .put("scheduler", scheduler)
+                .put("feasibleOrders", feasibleOrders)
+                .put("infeasibleOrders", infeasibleOrders)
+                .put("dominatedOrders", dominatedOrders);
+    }
+
+    @Override
+    public synchronized void upperBoundComputed(String scheduler, double upperBound, Duration duration) {
+        this.upperBound = new JSONObject()
+                .put("scheduler", scheduler)
+                .put("bound", upperBound)
+                .put("millis", duration.toMillis());
+    }
+
+    @Override
+    public synchronized void scheduleSelected(String scheduler, double fitness, Duration elapsed) {
+        selected = new JSONObject()
+                .put("scheduler", scheduler == null ? JSONObject.NULL : scheduler)
+                .put("fitness", fitness)
+                .put("millis", elapsed.toMillis());
+    }
+
+    public synchronized JSONObject toJson() {
+        JSONObject generationsJson = new JSONObject();
+        generations.forEach((scheduler, statistics) -> {
+            double seconds = Math.max(1, statistics.lastMillis - statistics.firstMillis) / 1000.0;
+            generationsJson.put(scheduler, new JSONObject()
+                    .put("generations", statistics.generations)
+                    .put("evaluations", statistics.evaluations)
+                    .put("generationsPerSecond", statistics.generations / seconds)
+                    .put("evaluationsPerSecond", statistics.evaluations / seconds)
+                    .put("bestFitness", statistics.bestFitnessCurve));
+        });
+        if (selected != null && upperBound != null) {
+            selected.put("gap", UpperBound.gap(selected.getDouble("fitness"), upperBound.getDouble("bound")));
+        }
+        return new JSONObject()
+                .put("phases", phases)
+                .put("generations", generationsJson)
+                .put("models", models)
+                .put("incumbents", incumbents)
+                .put("preprocessing", preprocessing == null ? JSONObject.NULL : preprocessing)
+                .put("upperBound", upperBound == null ? JSONObject.NULL : upperBound)
+                .put("selected", selected == null ? JSONObject.NULL : selected);
+    }
+
+    public void write(Path path) throws IOException {
+        Files.writeString(path, toJson().toString(2));
+    }
+}
@@ -0,0 +1,267 @@
+package com.ocadotask.algorithm;
+
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Store;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Upper bound on the fitness of any schedule, so that a run can stop once its incumbent reaches it.
+// Relaxation: an order may be picked partially, split between pickers, and its picking time counts only against the
+// capacity of all pickers up to its due time (latest start plus picking time). For every due time D, the orders due
+// by D fit into the sum over pickers of the time between their availability and D (energy reasoning). The capacity
+// constraints are nested, so taking the orders by decreasing value per second of picking, each as much as the tightest
+// constraint it is part of allows, is optimal for the relaxation (the fractional knapsack with nested capacities).
+// A segment tree over the distinct due times keeps the slack of every constraint, which makes it O(n log n).
+public final class UpperBound {
+
+    // Fitness is a sum of doubles, so a schedule that reaches the bound may miss it by rounding errors
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    private UpperBound() {
+    }
+
+    // Values in cents, the same as in the fitness of IncumbentHolder
+    public static double of(List<Order> orders, Store store, SchedulerOptimizationCriteria criteria) {
+        int numOrders = orders.size();
+        long[] pickingSeconds = new long[numOrders];
+        long[] latestStarts = new long[numOrders];
+        double[] scores = new double[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            Order order = orders.get(orderIndex);
+            pickingSeconds[orderIndex] = order.pickingTime().getSeconds();
+            latestStarts[orderIndex] = OrderPreprocessor.latestStartTimeInSeconds(order, store);
+            scores[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1.0;
+                case MAXIMIZE_VALUE -> order.valueCents() / 100.0;
+            };
+        }
+        return of(pickingSeconds, latestStarts, scores, pickerStartTimes(store), criteria);
+    }
+
+    // Values of the table are in cents, the same as in the orders of its schedules
+    public static double of(OrderTable orders, Store store, SchedulerOptimizationCriteria criteria) {
+        int numOrders = orders.size();
+        long[] pickingSeconds = new long[numOrders];
+        long[] latestStarts = new long[numOrders];
+        double[] scores = new double[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            pickingSeconds[orderIndex] = orders.pickingSeconds(orderIndex);
+            latestStarts[orderIndex] = OrderPreprocessor.latestStartTimeInSeconds(orders, orderIndex, store);
+            scores[orderIndex] = switch (criteria) {
+                case MAXIMIZE_COUNT -> 1.0;
+                case MAXIMIZE_VALUE -> orders.valueCents(orderIndex) / 100.0;
+            };
+        }
+        return of(pickingSeconds, latestStarts, scores, pickerStartTimes(store), criteria);
+    }
+
+    // Same scores as the fitness of the evaluator, the bound is linear in them
+    static double of(FitnessEvaluator evaluator, SchedulerOptimizationCriteria criteria) {
+        int numOrders = evaluator.numOrders();
+        long[] pickingSeconds = new long[numOrders];
+        long[] latestStarts = new long[numOrders];
+        double[] scores = new double[numOrders];
+        for (int orderIndex = 0; orderIndex < numOrders; orderIndex++) {
+            pickingSeconds[orderIndex] = evaluator.pickingDurationInSeconds(orderIndex);
+            latestStarts[orderIndex] = evaluator.startDeadlineInSeconds(orderIndex);
+            scores[orderIndex] = evaluator.score(orderIndex);
+        }
+        long[] pickerStartTimes = new long[evaluator.numPickers()];
+        for (int pickerIndex = 0; pickerIndex < pickerStartTimes.length; pickerIndex++) {
+            pickerStartTimes[pickerIndex] = evaluator.pickerStartTimeInSeconds(pickerIndex);
+        }
+        return of(pickingSeconds, latestStarts, scores, pickerStartTimes, criteria) / evaluator.scoreScale();
+    }
+
+    // Whether a schedule of the given fitness is optimal
+    public static boolean reaches(double fitness, double upperBound) {
+        return fitness >= upperBound - RELATIVE_TOLERANCE * Math.max(1, Math.abs(upperBound));
+    }
+
+    // Relative gap between the fitness and the bound, 0 once the bound is reached
+    public static double gap(double fitness, double upperBound) {
+        if (reaches(fitness, upperBound)) {
+            return 0;
+        }
+        return (upperBound - fitness) / Math.max(Math.abs(upperBound), Math.abs(fitness));
+    }
+
+    // Orders that are worth nothing, or can't be started by any picker, are left out
+    static double of(long[] pickingSeconds, long[] latestStarts, double[] scores, long[] pickerStartTimes,
+                     SchedulerOptimizationCriteria criteria) {
+        long[] sortedPickerStartTimes = pickerStartTimes.clone();
+        Arrays.sort(sortedPickerStartTimes);
+        long earliestPickerStart = sortedPickerStartTimes.length == 0 ? Long.MAX_VALUE : sortedPickerStartTimes[0];
+        int[] candidates = IntStream.range(0, scores.length)
+                .filter(orderIndex -> scores[orderIndex] > 0 && latestStarts[orderIndex] >= earliestPickerStart)
+                .toArray();
+        if (candidates.length == 0) {
+            return 0;
+        }
+
+        // Constraint k holds the orders due by dueTimes[k], its capacity is the time all pickers have until then
+        long[] dueTimes = Arrays.stream(candidates)
+                .mapToLong(orderIndex -> latestStarts[orderIndex] + pickingSeconds[orderIndex])
+                .sorted().distinct().toArray();
+        long[] capacities = new long[dueTimes.length];
+        int availablePickers = 0;
+        long availableSince = 0;
+        for (int k = 0; k < dueTimes.length; k++) {
+            while (availablePickers < sortedPickerStartTimes.length && sortedPickerStartTimes[availablePickers] < dueTimes[k]) {
+                availableSince += sortedPickerStartTimes[availablePickers++];
+            }
+            capacities[k] = availablePickers * dueTimes[k] - availableSince;
+        }
+        SlackTree slack = new SlackTree(capacities);
+
+        // Read in the order of candidates, so that the greedy pass only jumps between two arrays
+        int count = candidates.length;
+        double[] densities = new double[count];
+        long[] pickingTimes = new long[count];
+        int[] constraints = new int[count];
+        for (int position = 0; position < count; position++) {
+            int orderIndex = candidates[position];
+            pickingTimes[position] = pickingSeconds[orderIndex];
+            densities[position] = scores[orderIndex] / pickingSeconds[orderIndex];
+            constraints[position] = Arrays.binarySearch(dueTimes, latestStarts[orderIndex] + pickingSeconds[orderIndex]);
+        }
+
+        double bound = 0;
+        // Slack of the last constraint, which holds all orders: once it is used up nothing else fits
+        long remainingCapacity = capacities[capacities.length - 1];
+        for (int position : sortByDensity(densities)) {
+            long pickingTime = pickingTimes[position];
+            if (pickingTime == 0) {
+                bound += scores[candidates[position]];
+                continue;
+            }
+            if (remainingCapacity <= 0) {
+                break;
+            }
+            int k = constraints[position];
+            long taken = Math.min(pickingTime, slack.min(k));
+            if (taken > 0) {
+                bound += densities[position] * taken;
+                slack.subtract(k, taken);
+                remainingCapacity -= taken;
+            }
+        }
+
+        // The count is a whole number
+        return criteria == SchedulerOptimizationCriteria.MAXIMIZE_COUNT
+                ? Math.floor(bound + RELATIVE_TOLERANCE * Math.max(1, bound))
+                : bound;
+    }
+
+    // Positions by decreasing density, orders without picking time (infinite density) first.
+    // The bits of a positive double order the same way as the double, so the upper half of them is packed with
+    // the position into a long and sorted as a primitive; only runs that share the upper half are compared exactly.
+    private static int[] sortByDensity(double[] densities) {
+        int count = densities.length;
+        long[] packed = new long[count];
+        for (int position = 0; position < count; position++) {
+            long upperBits = Double.doubleToLongBits(densities[position]) >>> 32;
+            packed[position] = (Integer.MAX_VALUE - upperBits) << 32 | position;
+        }
+        Arrays.sort(packed);
+
+        int[] sorted = new int[count];
+        int runStart = 0;
+        for (int index = 1; index <= count; index++) {
+            if (index < count && packed[index] >>> 32 == packed[runStart] >>> 32) {
+                continue;
+            }
+            boolean exact = true;
+            for (int runIndex = runStart + 1; runIndex < index && exact; runIndex++) {
+                exact = densities[(int) packed[runIndex - 1]] >= densities[(int) packed[runIndex]];
+            }
+            if (!exact) {
+                Integer[] run = new Integer[index - runStart];
+                for (int runIndex = runStart; runIndex < index; runIndex++) {
+                    run[runIndex - runStart] = (int) packed[runIndex];
+                }
+                Arrays.sort(run, Comparator.comparingDouble(position -> -densities[position]));
+                for (int runIndex = runStart; runIndex < index; runIndex++) {
+                    packed[runIndex] = run[runIndex - runStart];
+                }
+            }
+            for (int runIndex = runStart; runIndex < index; runIndex++) {
+                sorted[runIndex] = (int) packed[runIndex];
+            }
+            runStart = index;
+        }
+        return sorted;
+    }
+
+    private static long[] pickerStartTimes(Store store) {
+        long[] pickerStartTimes = new long[store.pickers().size()];
+        for (int pickerIndex = 0; pickerIndex < pickerStartTimes.length; pickerIndex++) {
+            pickerStartTimes[pickerIndex] = store.pickerAvailableTime(pickerIndex).toSecondOfDay();
+        }
+        return pickerStartTimes;
+    }
+
+    // Slack of the constraints, with the minimum over a suffix and subtraction from a suffix (an order due at k counts
+    // against every constraint from k on) in O(log n)
+    private static final class SlackTree {
+        private final int size;
+        private final long[] min;
+        private final long[] pending;
+
+        SlackTree(long[] values) {
+            size = values.length;
+            min = new long[4 * size];
+            pending = new long[4 * size];
+            build(1, 0, size - 1, values);
+        }
+
+        private void build(int node, int from, int to, long[] values) {
+            if (from == to) {
+                min[node] = values[from];
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            build(2 * node, from, middle, values);
+            build(2 * node + 1, middle + 1, to, values);
+            min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+        }
+
+        long min(int from) {
+            return min(1, 0, size - 1, from);
+        }
+
+        private long min(int node, int nodeFrom, int nodeTo, int from) {
+            if (from <= nodeFrom) {
+                return min[node];
+            }
+            int middle = (nodeFrom + nodeTo) >>> 1;
+            long result = min(2 * node + 1, middle + 1, nodeTo, from);
+            if (from <= middle) {
+                result = Math.min(result, min(2 * node, nodeFrom, middle, from));
+            }
+            return result + pending[node];
+        }
+
+        void subtract(int from, long amount) {
+            subtract(1, 0, size - 1, from, amount);
+        }
+
+        private void subtract(int node, int nodeFrom, int nodeTo, int from, long amount) {
+            if (from <= nodeFrom) {
+                min[node] -= amount;
+                pending[node] -= amount;
+                return;
+            }
+            int middle = (nodeFrom + nodeTo) >>> 1;
+            if (from <= middle) {
+                subtract(2 * node, nodeFrom, middle, from, amount);
+            }
+            subtract(2 * node + 1, middle + 1, nodeTo, from, amount);
+            min[node] = Math.min(min[2 * node], min[2 * node + 1]) + pending[node];
+        }
+    }
+}
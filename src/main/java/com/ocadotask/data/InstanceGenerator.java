@@ -0,0 +1,151 @@
+package com.ocadotask.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+// Synthetic problems of any size for benchmarks and stress tests, see InstanceSettings. Orders are generated one at
+// a time from the seed, so they can be streamed into a scheduler's OrderTable or a file without holding them all
+// as objects, and every call generates the same orders again.
+public class InstanceGenerator {
+
+    // Value of every order without skew, the mean grows with the skew
+    private static final long BASE_VALUE_CENTS = 10_00;
+    // Keeps values well within what the schedulers scale to integers
+    private static final long MAX_VALUE_CENTS = 10_000_00;
+
+    private final InstanceSettings settings;
+
+    public InstanceGenerator(InstanceSettings settings) {
+        this.settings = settings;
+    }
+
+    private interface OrderSink {
+        void accept(int orderIndex, long valueCents, long pickingSeconds, long completeBySeconds) throws IOException;
+    }
+
+    public Store store() {
+        List<Picker> pickers = new ArrayList<>(settings.pickers());
+        for (int pickerIndex = 0; pickerIndex < settings.pickers(); pickerIndex++) {
+            pickers.add(new Picker("P" + (pickerIndex + 1)));
+        }
+        return new Store(pickers, settings.pickingStartTime(), settings.pickingEndTime());
+    }
+
+    public void orders(Consumer<Order> consumer) {
+        try {
+            generate((orderIndex, valueCents, pickingSeconds, completeBySeconds) -> consumer.accept(new Order(
+                    orderId(orderIndex), BigDecimal.valueOf(valueCents, 2), Duration.ofSeconds(pickingSeconds),
+                    LocalTime.ofSecondOfDay(completeBySeconds))));
+        } catch (IOException e) {
+            // The sink doesn't do any I/O
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public List<Order> orders() {
+        List<Order> orders = new ArrayList<>(settings.orders());
+        orders(orders::add);
+        return orders;
+    }
+
+    // Goes straight into the columns, no Order object is created
+    public OrderTable orderTable() {
+        OrderTable.Builder builder = OrderTable.builder(settings.orders());
+        try {
+            generate((orderIndex, valueCents, pickingSeconds, completeBySeconds) ->
+                    builder.add(orderId(orderIndex), valueCents, pickingSeconds, completeBySeconds));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.build();
+    }
+
+    public void writeStore(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"pickers\": [");
+            for (int pickerIndex = 0; pickerIndex < settings.pickers(); pickerIndex++) {
+                writer.write((pickerIndex == 0 ? "" : ", ") + "\"P" + (pickerIndex + 1) + "\"");
+            }
+            writer.write("],\n  \"pickingStartTime\": \"" + settings.pickingStartTime()
+                    + "\",\n  \"pickingEndTime\": \"" + settings.pickingEndTime() + "\"\n}\n");
+        }
+    }
+
+    // Same format as the input files, one order per line
+    public void writeOrders(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write('[');
+            generate((orderIndex, valueCents, pickingSeconds, completeBySeconds) -> {
+                writer.write(orderIndex == 0 ? "\n" : ",\n");
+                writer.write("  {\"orderId\": \"");
+                writer.write(orderId(orderIndex));
+                writer.write("\", \"orderValue\": \"");
+                writer.write(Long.toString(valueCents / 100));
+                writer.write(valueCents % 100 < 10 ? ".0" : ".");
+                writer.write(Long.toString(valueCents % 100));
+                writer.write("\", \"pickingTime\": \"");
+                writer.write(Duration.ofSeconds(pickingSeconds).toString());
+                writer.write("\", \"completeBy\": \"");
+                writer.write(LocalTime.ofSecondOfDay(completeBySeconds).toString());
+                writer.write("\"}");
+            });
+            writer.write("\n]\n");
+        }
+    }
+
+    private static String orderId(int orderIndex) {
+        return "order-" + (orderIndex + 1);
+    }
+
+    private void generate(OrderSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long startSeconds = settings.pickingStartTime().toSecondOfDay();
+        long endSeconds = settings.pickingEndTime().toSecondOfDay();
+        long daySeconds = endSeconds - startSeconds;
+        double meanPickingSeconds = settings.orders() == 0 ? 0
+                : settings.overloadRatio() * settings.pickers() * daySeconds / settings.orders();
+        double variation = settings.pickingTimeVariation();
+        // Parameters of the log-normal distribution with the requested mean and variation
+        double logSigma = Math.sqrt(Math.log1p(variation * variation));
+        double logMu = Math.log(meanPickingSeconds) - logSigma * logSigma / 2;
+        double spreadSeconds = settings.deadlineClusterSpread().getSeconds();
+
+        for (int orderIndex = 0; orderIndex < settings.orders(); orderIndex++) {
+            double pickingTime = switch (settings.pickingTimeDistribution()) {
+                case FIXED -> meanPickingSeconds;
+                case UNIFORM -> meanPickingSeconds
+                        * (1 + Math.min(variation * Math.sqrt(3), 1) * (2 * random.nextDouble() - 1));
+                case LOG_NORMAL -> Math.exp(logMu + logSigma * random.nextGaussian());
+            };
+            long pickingSeconds = Math.max(1, Math.min(daySeconds, Math.round(pickingTime)));
+
+            // Orders are never due before they could be picked at the start of the day
+            long earliestCompleteBy = startSeconds + pickingSeconds;
+            double completeBy;
+            if (settings.deadlineClusters() == 0) {
+                completeBy = earliestCompleteBy + random.nextDouble() * (endSeconds - earliestCompleteBy);
+            } else {
+                int cluster = random.nextInt(settings.deadlineClusters());
+                completeBy = startSeconds + daySeconds * (cluster + 0.5) / settings.deadlineClusters()
+                        + random.nextGaussian() * spreadSeconds;
+            }
+            long completeBySeconds = Math.max(earliestCompleteBy, Math.min(endSeconds, Math.round(completeBy)));
+
+            // Pareto with minimum BASE_VALUE_CENTS, 1 - nextDouble is never zero
+            long valueCents = Math.min(MAX_VALUE_CENTS,
+                    Math.round(BASE_VALUE_CENTS * Math.pow(1 - random.nextDouble(), -settings.valueSkew())));
+
+            sink.accept(orderIndex, valueCents, pickingSeconds, completeBySeconds);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ocadotask.data;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+// orders, pickers - size of the problem
+// pickingStartTime, pickingEndTime - working hours of every picker
+// overloadRatio - total picking time of all orders over the total working time of all pickers, the mean picking time
+//                 follows from it, above 1 not every order can be scheduled
+// pickingTimeDistribution, pickingTimeVariation - shape of the picking times and their standard deviation as
+//                                                 a fraction of the mean
+// deadlineClusters - number of evenly spaced delivery waves the completeBy times gather around, 0 spreads them evenly
+//                    over the whole day
+// deadlineClusterSpread - standard deviation of the completeBy times around their wave
+// valueSkew - values follow a Pareto distribution with this inverse shape in range [0, 1), 0 gives every order
+//             the same value, higher values give a few orders most of the total value
+// seed - the same settings and seed always give the same instance
+public record InstanceSettings(int orders, int pickers, LocalTime pickingStartTime, LocalTime pickingEndTime,
+                               double overloadRatio, PickingTimeDistribution pickingTimeDistribution,
+                               double pickingTimeVariation, int deadlineClusters, Duration deadlineClusterSpread,
+                               double valueSkew, long seed) {
+
+    public InstanceSettings {
+        if (orders < 0) {
+            throw new IllegalArgumentException("Number of orders must not be negative: " + orders);
+        }
+        if (pickers < 1) {
+            throw new IllegalArgumentException("Number of pickers must be at least 1: " + pickers);
+        }
+        if (!pickingStartTime.isBefore(pickingEndTime)) {
+            throw new IllegalArgumentException("Picking must start before it ends: " + pickingStartTime + " - " + pickingEndTime);
+        }
+        if (!(overloadRatio > 0)) {
+            throw new IllegalArgumentException("Overload ratio must be positive: " + overloadRatio);
+        }
+        if (pickingTimeVariation < 0) {
+            throw new IllegalArgumentException("Picking time variation must not be negative: " + pickingTimeVariation);
+        }
+        if (deadlineClusters < 0) {
+            throw new IllegalArgumentException("Number of deadline clusters must not be negative: " + deadlineClusters);
+        }
+        if (deadlineClusterSpread.isNegative()) {
+            throw new IllegalArgumentException("Deadline cluster spread must not be negative: " + deadlineClusterSpread);
+        }
+        if (valueSkew < 0 || valueSkew >= 1) {
+            throw new IllegalArgumentException("Value skew must be in range [0, 1): " + valueSkew);
+        }
+    }
+
+    // A day from 06:00 to 22:00 with half as much work again as the pickers can do, four delivery waves and
+    // moderately skewed values
+    public static InstanceSettings defaults(int orders, int pickers) {
+        return new InstanceSettings(orders, pickers, LocalTime.of(6, 0), LocalTime.of(22, 0), 1.5,
+                PickingTimeDistribution.LOG_NORMAL, 0.5, 4, Duration.ofHours(1), 0.5, 42);
+    }
+
+    public InstanceSettings withOverloadRatio(double overloadRatio) {
+        return new InstanceSettings(orders, pickers, pickingStartTime, pickingEndTime, overloadRatio,
+                pickingTimeDistribution, pickingTimeVariation, deadlineClusters, deadlineClusterSpread, valueSkew, seed);
+    }
+
+    public InstanceSettings withPickingTimes(PickingTimeDistribution pickingTimeDistribution, double pickingTimeVariation) {
+        return new InstanceSettings(orders, pickers, pickingStartTime, pickingEndTime, overloadRatio,
+                pickingTimeDistribution, pickingTimeVariation, deadlineClusters, deadlineClusterSpread, valueSkew, seed);
+    }
+
+    public InstanceSettings withDeadlineClusters(int deadlineClusters, Duration deadlineClusterSpread) {
+        return new InstanceSettings(orders, pickers, pickingStartTime, pickingEndTime, overloadRatio,
+                pickingTimeDistribution, pickingTimeVariation, deadlineClusters, deadlineClusterSpread, valueSkew, seed);
+    }
+
+    public InstanceSettings withValueSkew(double valueSkew) {
+        return new InstanceSettings(orders, pickers, pickingStartTime, pickingEndTime, overloadRatio,
+                pickingTimeDistribution, pickingTimeVariation, deadlineClusters, deadlineClusterSpread, valueSkew, seed);
+    }
+
+    public InstanceSettings withSeed(long seed) {
+        return new InstanceSettings(orders, pickers, pickingStartTime, pickingEndTime, overloadRatio,
+                pickingTimeDistribution, pickingTimeVariation, deadlineClusters, deadlineClusterSpread, valueSkew, seed);
+    }
+}
@@ -3,6 +3,7 @@ package com.ocadotask.data;
 import org.json.JSONObject;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalTime;
 
@@ -16,4 +17,9 @@ public record Order(String id, BigDecimal value, Duration pickingTime, LocalTime
                 LocalTime.parse(json.getString("completeBy"))
         );
     }
+
+    // Value in whole cents (rounded half up), the value all schedulers and fitness functions work with
+    public long valueCents() {
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
 }
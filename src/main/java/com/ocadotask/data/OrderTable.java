@@ -0,0 +1,219 @@
+package com.ocadotask.data;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Immutable columnar form of a list of orders: one primitive array per field, no object per order.
+// Ids are kept as UTF-8 bytes of a single array, values in cents (rounded half up), times in seconds.
+// Order objects are only created on demand, e.g. for the entries of a finished schedule.
+public final class OrderTable {
+
+    private final byte[] idBytes;
+    // Id of order i is idBytes[idOffsets[i], idOffsets[i + 1])
+    private final int[] idOffsets;
+    private final long[] valueCents;
+    private final long[] pickingSeconds;
+    private final long[] completeBySeconds;
+
+    private OrderTable(byte[] idBytes, int[] idOffsets, long[] valueCents, long[] pickingSeconds, long[] completeBySeconds) {
+        this.idBytes = idBytes;
+        this.idOffsets = idOffsets;
+        this.valueCents = valueCents;
+        this.pickingSeconds = pickingSeconds;
+        this.completeBySeconds = completeBySeconds;
+    }
+
+    // Takes ownership of the columns, see Snapshot
+    static OrderTable of(byte[] idBytes, int[] idOffsets, long[] valueCents, long[] pickingSeconds, long[] completeBySeconds) {
+        return new OrderTable(idBytes, idOffsets, valueCents, pickingSeconds, completeBySeconds);
+    }
+
+    public static OrderTable of(List<Order> orders) {
+        Builder builder = new Builder(orders.size());
+        for (Order order : orders) {
+            builder.add(order);
+        }
+        return builder.build();
+    }
+
+    // Parses the orders file straight into the table, in parallel on all available cores, see OrdersReader
+    public static OrderTable read(Path path) throws IOException {
+        return OrdersReader.readTable(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return valueCents.length;
+    }
+
+    public String id(int orderIndex) {
+        return new String(idBytes, idOffsets[orderIndex], idOffsets[orderIndex + 1] - idOffsets[orderIndex], StandardCharsets.UTF_8);
+    }
+
+    public long valueCents(int orderIndex) {
+        return valueCents[orderIndex];
+    }
+
+    public long pickingSeconds(int orderIndex) {
+        return pickingSeconds[orderIndex];
+    }
+
+    public long completeBySeconds(int orderIndex) {
+        return completeBySeconds[orderIndex];
+    }
+
+    // The columns themselves, for the snapshot writer, which must not modify them
+    byte[] idBytes() {
+        return idBytes;
+    }
+
+    int[] idOffsets() {
+        return idOffsets;
+    }
+
+    long[] valueCents() {
+        return valueCents;
+    }
+
+    long[] pickingSeconds() {
+        return pickingSeconds;
+    }
+
+    long[] completeBySeconds() {
+        return completeBySeconds;
+    }
+
+    public Order order(int orderIndex) {
+        return new Order(id(orderIndex), BigDecimal.valueOf(valueCents[orderIndex], 2),
+                Duration.ofSeconds(pickingSeconds[orderIndex]), LocalTime.ofSecondOfDay(completeBySeconds[orderIndex]));
+    }
+
+    // Unmodifiable view, every get creates a new Order
+    public List<Order> toOrders() {
+        return new OrderListView();
+    }
+
+    // Orders of all tables one after another, e.g. of chunks of a file parsed in parallel
+    static OrderTable concat(List<OrderTable> tables) {
+        int size = 0;
+        int idLength = 0;
+        for (OrderTable table : tables) {
+            size += table.size();
+            idLength += table.idBytes.length;
+        }
+
+        byte[] idBytes = new byte[idLength];
+        int[] idOffsets = new int[size + 1];
+        long[] valueCents = new long[size];
+        long[] pickingSeconds = new long[size];
+        long[] completeBySeconds = new long[size];
+        int orderOffset = 0;
+        for (OrderTable table : tables) {
+            int idOffset = idOffsets[orderOffset];
+            System.arraycopy(table.idBytes, 0, idBytes, idOffset, table.idBytes.length);
+            for (int orderIndex = 1; orderIndex <= table.size(); orderIndex++) {
+                idOffsets[orderOffset + orderIndex] = idOffset + table.idOffsets[orderIndex];
+            }
+            System.arraycopy(table.valueCents, 0, valueCents, orderOffset, table.size());
+            System.arraycopy(table.pickingSeconds, 0, pickingSeconds, orderOffset, table.size());
+            System.arraycopy(table.completeBySeconds, 0, completeBySeconds, orderOffset, table.size());
+            orderOffset += table.size();
+        }
+        return new OrderTable(idBytes, idOffsets, valueCents, pickingSeconds, completeBySeconds);
+    }
+
+    // Orders at the given indices, in the given order
+    public OrderTable select(int[] orderIndices) {
+        Builder builder = new Builder(orderIndices.length);
+        for (int orderIndex : orderIndices) {
+            builder.add(idBytes, idOffsets[orderIndex], idOffsets[orderIndex + 1] - idOffsets[orderIndex],
+                    valueCents[orderIndex], pickingSeconds[orderIndex], completeBySeconds[orderIndex]);
+        }
+        return builder.build();
+    }
+
+    private final class OrderListView extends AbstractList<Order> implements RandomAccess {
+
+        @Override
+        public Order get(int index) {
+            return order(index);
+        }
+
+        @Override
+        public int size() {
+            return OrderTable.this.size();
+        }
+    }
+
+    // Columns grow by doubling, build trims them to the number of added orders
+    public static final class Builder {
+
+        private byte[] idBytes;
+        private int[] idOffsets;
+        private long[] valueCents;
+        private long[] pickingSeconds;
+        private long[] completeBySeconds;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(1, expectedSize);
+            this.idBytes = new byte[capacity * 8];
+            this.idOffsets = new int[capacity + 1];
+            this.valueCents = new long[capacity];
+            this.pickingSeconds = new long[capacity];
+            this.completeBySeconds = new long[capacity];
+        }
+
+        public Builder add(Order order) {
+            return add(order.id(), order.valueCents(),
+                    order.pickingTime().getSeconds(), order.completeBy().toSecondOfDay());
+        }
+
+        public Builder add(String id, long valueCents, long pickingSeconds, long completeBySeconds) {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            return add(bytes, 0, bytes.length, valueCents, pickingSeconds, completeBySeconds);
+        }
+
+        // The id is given as UTF-8 bytes, so readers can add it without creating a String
+        Builder add(byte[] bytes, int offset, int length, long valueCents, long pickingSeconds, long completeBySeconds) {
+            if (size == this.valueCents.length) {
+                int capacity = size * 2;
+                this.idOffsets = Arrays.copyOf(this.idOffsets, capacity + 1);
+                this.valueCents = Arrays.copyOf(this.valueCents, capacity);
+                this.pickingSeconds = Arrays.copyOf(this.pickingSeconds, capacity);
+                this.completeBySeconds = Arrays.copyOf(this.completeBySeconds, capacity);
+            }
+            int idEnd = idOffsets[size] + length;
+            if (idEnd > idBytes.length) {
+                idBytes = Arrays.copyOf(idBytes, Math.max(idEnd, idBytes.length * 2));
+            }
+            System.arraycopy(bytes, offset, idBytes, idOffsets[size], length);
+            idOffsets[size + 1] = idEnd;
+            this.valueCents[size] = valueCents;
+            this.pickingSeconds[size] = pickingSeconds;
+            this.completeBySeconds[size] = completeBySeconds;
+            size++;
+            return this;
+        }
+
+        public OrderTable build() {
+            return new OrderTable(Arrays.copyOf(idBytes, idOffsets[size]), Arrays.copyOf(idOffsets, size + 1),
+                    Arrays.copyOf(valueCents, size), Arrays.copyOf(pickingSeconds, size), Arrays.copyOf(completeBySeconds, size));
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.ocadotask.data;
 
 import org.json.JSONArray;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -12,10 +16,21 @@ public class Orders {
     // The returned List is unmodifiable; calls to any mutator method
     // will always cause UnsupportedOperationException to be thrown.
     public static List<Order> parse(String json) {
-        JSONArray jsonArray = new JSONArray(json);
+        return parse(new JSONArray(json));
+    }
+
+    public static List<Order> parse(JSONArray jsonArray) {
         return IntStream.range(0, jsonArray.length())
                 .mapToObj(jsonArray::getJSONObject)
                 .map(Order::parse)
                 .toList();
     }
+
+    // Streams the file with OrdersReader instead of reading it into a String and a JSON DOM first.
+    // The returned List is unmodifiable as well.
+    public static List<Order> read(Path path) throws IOException {
+        List<Order> orders = new ArrayList<>();
+        OrdersReader.read(path, orders::add);
+        return Collections.unmodifiableList(orders);
+    }
 }
\ No newline at end of file
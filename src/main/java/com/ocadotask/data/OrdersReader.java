@@ -0,0 +1,658 @@
+package com.ocadotask.data;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Streaming parser of the orders file. The file is memory-mapped and tokenized byte by byte, every order is passed
+// to the consumer as soon as its object is closed, so neither the file content nor a JSON DOM is ever held in memory.
+// Files larger than 2 GB are mapped in consecutive regions, tokens spanning two regions are handled transparently.
+// Unknown fields are skipped, the accepted input is the same as for Orders.parse. The fields of every order can also be
+// added to an OrderTable directly, without creating an Order.
+// An OrderTable can be read in parallel: a quick structural scan splits the array at top-level commas into chunks,
+// which are parsed on a fork-join pool and concatenated in their original order.
+public class OrdersReader {
+
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+    private static final int END_OF_INPUT = -1;
+    // Smaller files are not worth the structural scan, they are read by a single thread
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    // More chunks than threads, so a thread that finishes early takes over another chunk
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final byte[] ORDER_ID = "orderId".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ORDER_VALUE = "orderValue".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PICKING_TIME = "pickingTime".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMPLETE_BY = "completeBy".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final long end;
+    // Fields are converted to primitives right away instead of being kept as strings
+    private final boolean columnar;
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    // Bytes of the current token, decoded only if needed. A string with escapes is decoded right away.
+    private byte[] tokenBytes = new byte[64];
+    private int tokenLength;
+    private String escapedToken;
+
+    // Fields of the last read order
+    private String orderId;
+    private String orderValue;
+    private String orderPickingTime;
+    private String orderCompleteBy;
+    // Fields of the last read order in columnar mode, the id as UTF-8 bytes
+    private byte[] orderIdBytes = new byte[64];
+    private int orderIdLength;
+    private long orderValueCents;
+    private long orderPickingSeconds;
+    private long orderCompleteBySeconds;
+
+    // Reads the bytes [start, end) of the file
+    private OrdersReader(FileChannel channel, long start, long end, boolean columnar) throws IOException {
+        this.channel = channel;
+        this.end = end;
+        this.columnar = columnar;
+        this.region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(end - start, MAX_REGION_SIZE));
+        this.regionStart = start;
+    }
+
+    public static void read(Path path, Consumer<Order> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            OrdersReader reader = new OrdersReader(channel, 0, channel.size(), false);
+            reader.readOrders(() -> consumer.accept(new Order(
+                    reader.orderId,
+                    new BigDecimal(reader.orderValue),
+                    Duration.parse(reader.orderPickingTime),
+                    LocalTime.parse(reader.orderCompleteBy)
+            )));
+        }
+    }
+
+    // Values are rounded to cents, the same way as in OrderTable.Builder.add(Order)
+    public static OrderTable readTable(Path path) throws IOException {
+        return readTable(path, 1);
+    }
+
+    // Reads the orders array the tokener is positioned at, e.g. inside a larger JSON document such as a request body.
+    // Only the order being parsed is held as a JSON object, it is added to the table right away.
+    public static OrderTable readTable(JSONTokener tokener) {
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSONArray text must start with '['");
+        }
+        OrderTable.Builder builder = OrderTable.builder();
+        char next = tokener.nextClean();
+        if (next != ']') {
+            tokener.back();
+            do {
+                builder.add(Order.parse(new JSONObject(tokener)));
+                next = tokener.nextClean();
+            } while (next == ',');
+            if (next != ']') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+        }
+        return builder.build();
+    }
+
+    // Uses up to parallelism threads, the result is the same as of a sequential read
+    public static OrderTable readTable(Path path, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int numChunks = (int) Math.min((long) parallelism * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE);
+            if (parallelism == 1 || numChunks < 2) {
+                OrdersReader reader = new OrdersReader(channel, 0, size, true);
+                OrderTable.Builder builder = OrderTable.builder();
+                reader.readOrders(reader.addTo(builder));
+                return builder.build();
+            }
+
+            long[] chunkStarts = new OrdersReader(channel, 0, size, false).findChunkStarts(size / numChunks);
+            List<Callable<OrderTable>> chunks = new ArrayList<>();
+            for (int chunk = 0; chunk + 1 < chunkStarts.length; chunk++) {
+                long chunkStart = chunkStarts[chunk];
+                // Without the comma or the closing bracket
+                long chunkEnd = chunkStarts[chunk + 1] - 1;
+                boolean allowEmpty = chunkStarts.length == 2;
+                chunks.add(() -> {
+                    OrdersReader reader = new OrdersReader(channel, chunkStart, chunkEnd, true);
+                    OrderTable.Builder builder = OrderTable.builder();
+                    reader.readChunk(reader.addTo(builder), allowEmpty);
+                    return builder.build();
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<OrderTable> tables = new ArrayList<>(chunks.size());
+                for (Future<OrderTable> future : pool.invokeAll(chunks)) {
+                    tables.add(future.get());
+                }
+                return OrderTable.concat(tables);
+            } catch (ExecutionException e) {
+                // The first failed chunk is reported, the same error as of a sequential read
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IOException("Error while reading orders", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading orders", e);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private Runnable addTo(OrderTable.Builder builder) {
+        return () -> builder.add(orderIdBytes, 0, orderIdLength, orderValueCents, orderPickingSeconds, orderCompleteBySeconds);
+    }
+
+    // orderRead is called once the fields of every order are read
+    private void readOrders(Runnable orderRead) throws IOException {
+        expect('[');
+        int next = nextNonWhitespace();
+        if (next == ']') {
+            expectEndOfInput();
+            return;
+        }
+        while (true) {
+            if (next != '{') {
+                throw syntaxError("Expected '{'", next);
+            }
+            readOrder();
+            orderRead.run();
+            next = nextNonWhitespace();
+            if (next == ']') {
+                expectEndOfInput();
+                return;
+            }
+            if (next != ',') {
+                throw syntaxError("Expected ',' or ']'", next);
+            }
+            next = nextNonWhitespace();
+        }
+    }
+
+    // A chunk is a part of the array between two top-level commas, without the brackets and the commas
+    private void readChunk(Runnable orderRead, boolean allowEmpty) throws IOException {
+        int next = nextNonWhitespace();
+        if (next == END_OF_INPUT && allowEmpty) {
+            return;
+        }
+        while (true) {
+            if (next != '{') {
+                throw syntaxError("Expected '{'", next);
+            }
+            readOrder();
+            orderRead.run();
+            next = nextNonWhitespace();
+            if (next == END_OF_INPUT) {
+                return;
+            }
+            if (next != ',') {
+                throw syntaxError("Expected ',' or ']'", next);
+            }
+            next = nextNonWhitespace();
+        }
+    }
+
+    // Scans the structure of the whole array without tokenizing it. Returns the start of every chunk, i.e. the position
+    // right after the opening bracket or a top-level comma, followed by the position right after the closing bracket.
+    // A chunk ends at the first top-level comma once it is at least minChunkSize bytes long.
+    private long[] findChunkStarts(long minChunkSize) throws IOException {
+        expect('[');
+        long[] chunkStarts = new long[16];
+        chunkStarts[0] = position();
+        int numChunks = 1;
+        int depth = 1;
+        boolean inString = false;
+        while (depth > 0) {
+            int next = nextByte();
+            if (next == END_OF_INPUT) {
+                throw syntaxError("Unterminated array", next);
+            }
+            if (inString) {
+                if (next == '\\') {
+                    nextByte();
+                } else if (next == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (next) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> depth--;
+                case ',' -> {
+                    if (depth == 1 && position() - chunkStarts[numChunks - 1] >= minChunkSize) {
+                        if (numChunks == chunkStarts.length) {
+                            chunkStarts = Arrays.copyOf(chunkStarts, numChunks * 2);
+                        }
+                        chunkStarts[numChunks++] = position();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        long arrayEnd = position();
+        expectEndOfInput();
+
+        chunkStarts = Arrays.copyOf(chunkStarts, numChunks + 1);
+        chunkStarts[numChunks] = arrayEnd;
+        return chunkStarts;
+    }
+
+    // The opening brace is already consumed
+    private void readOrder() throws IOException {
+        boolean hasId = false;
+        boolean hasValue = false;
+        boolean hasPickingTime = false;
+        boolean hasCompleteBy = false;
+
+        int next = nextNonWhitespace();
+        if (next == '}') {
+            throw new JSONException("Order field not found: orderId");
+        }
+        while (true) {
+            if (next != '"') {
+                throw syntaxError("Expected field name", next);
+            }
+            // Field names are compared as bytes, no String is created for them
+            readString();
+            if (tokenEquals(ORDER_ID)) {
+                readFieldScalar();
+                readOrderId();
+                hasId = true;
+            } else if (tokenEquals(ORDER_VALUE)) {
+                readFieldScalar();
+                if (columnar) {
+                    orderValueCents = parseCents();
+                } else {
+                    orderValue = tokenString();
+                }
+                hasValue = true;
+            } else if (tokenEquals(PICKING_TIME)) {
+                readFieldScalar();
+                if (columnar) {
+                    orderPickingSeconds = parseDurationSeconds();
+                } else {
+                    orderPickingTime = tokenString();
+                }
+                hasPickingTime = true;
+            } else if (tokenEquals(COMPLETE_BY)) {
+                readFieldScalar();
+                if (columnar) {
+                    orderCompleteBySeconds = parseSecondOfDay();
+                } else {
+                    orderCompleteBy = tokenString();
+                }
+                hasCompleteBy = true;
+            } else {
+                expect(':');
+                skipValue(nextNonWhitespace());
+            }
+            next = nextNonWhitespace();
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                throw syntaxError("Expected ',' or '}'", next);
+            }
+            next = nextNonWhitespace();
+        }
+
+        required(hasId, "orderId");
+        required(hasValue, "orderValue");
+        required(hasPickingTime, "pickingTime");
+        required(hasCompleteBy, "completeBy");
+    }
+
+    private static void required(boolean hasField, String name) {
+        if (!hasField) {
+            throw new JSONException("Order field not found: " + name);
+        }
+    }
+
+    private void readFieldScalar() throws IOException {
+        expect(':');
+        readScalar(nextNonWhitespace());
+    }
+
+    private void readOrderId() {
+        if (!columnar) {
+            orderId = tokenString();
+            return;
+        }
+        if (escapedToken == null) {
+            if (orderIdBytes.length < tokenLength) {
+                orderIdBytes = new byte[tokenBytes.length];
+            }
+            System.arraycopy(tokenBytes, 0, orderIdBytes, 0, tokenLength);
+            orderIdLength = tokenLength;
+        } else {
+            orderIdBytes = escapedToken.getBytes(StandardCharsets.UTF_8);
+            orderIdLength = orderIdBytes.length;
+        }
+    }
+
+    // Values like "12.5" or 12.5, rounded half up to cents. Anything else (exponents, more than 17 digits)
+    // is left to BigDecimal.
+    private long parseCents() {
+        if (escapedToken != null) {
+            return toCents(new BigDecimal(escapedToken));
+        }
+        int index = 0;
+        boolean negative = false;
+        if (tokenLength > 0 && (tokenBytes[0] == '-' || tokenBytes[0] == '+')) {
+            negative = tokenBytes[0] == '-';
+            index++;
+        }
+        long cents = 0;
+        int digits = 0;
+        while (index < tokenLength && isDigit(tokenBytes[index])) {
+            cents = cents * 10 + (tokenBytes[index++] - '0');
+            digits++;
+        }
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (index < tokenLength && tokenBytes[index] == '.') {
+            index++;
+            while (index < tokenLength && isDigit(tokenBytes[index])) {
+                if (fractionDigits < 2) {
+                    cents = cents * 10 + (tokenBytes[index] - '0');
+                    digits++;
+                } else if (fractionDigits == 2) {
+                    // Half up depends only on the first discarded digit
+                    roundUp = tokenBytes[index] >= '5';
+                }
+                fractionDigits++;
+                index++;
+            }
+        }
+        if (index != tokenLength || digits == 0 || digits > 17) {
+            return toCents(new BigDecimal(tokenString()));
+        }
+        for (; fractionDigits < 2; fractionDigits++) {
+            cents *= 10;
+        }
+        if (roundUp) {
+            cents++;
+        }
+        return negative ? -cents : cents;
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Durations like PT15M or PT1H30M, anything else (days, fractions, lowercase) is left to Duration.parse
+    private long parseDurationSeconds() {
+        if (escapedToken == null && tokenLength > 2 && tokenBytes[0] == 'P' && tokenBytes[1] == 'T') {
+            long seconds = 0;
+            int index = 2;
+            // Units must follow in the order H, M, S, each at most once
+            int nextUnit = 0;
+            while (index < tokenLength) {
+                long amount = 0;
+                int digits = 0;
+                while (index < tokenLength && isDigit(tokenBytes[index]) && digits < 12) {
+                    amount = amount * 10 + (tokenBytes[index++] - '0');
+                    digits++;
+                }
+                int unit = index < tokenLength ? "HMS".indexOf(tokenBytes[index], nextUnit) : -1;
+                if (digits == 0 || unit < 0) {
+                    return Duration.parse(tokenString()).getSeconds();
+                }
+                seconds += amount * switch (unit) {
+                    case 0 -> 3600;
+                    case 1 -> 60;
+                    default -> 1;
+                };
+                nextUnit = unit + 1;
+                index++;
+            }
+            return seconds;
+        }
+        return Duration.parse(tokenString()).getSeconds();
+    }
+
+    // Times like 09:15 or 09:15:30, anything else is left to LocalTime.parse
+    private long parseSecondOfDay() {
+        if (escapedToken == null && (tokenLength == 5 || tokenLength == 8) && tokenBytes[2] == ':'
+                && (tokenLength == 5 || tokenBytes[5] == ':')) {
+            int hours = twoDigits(0);
+            int minutes = twoDigits(3);
+            int seconds = tokenLength == 8 ? twoDigits(6) : 0;
+            if (hours >= 0 && hours < 24 && minutes >= 0 && minutes < 60 && seconds >= 0 && seconds < 60) {
+                return hours * 3600L + minutes * 60L + seconds;
+            }
+        }
+        return LocalTime.parse(tokenString()).toSecondOfDay();
+    }
+
+    // -1 if any of the two bytes is not a digit
+    private int twoDigits(int index) {
+        if (!isDigit(tokenBytes[index]) || !isDigit(tokenBytes[index + 1])) {
+            return -1;
+        }
+        return (tokenBytes[index] - '0') * 10 + (tokenBytes[index + 1] - '0');
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private boolean tokenEquals(byte[] expected) {
+        if (escapedToken != null) {
+            return escapedToken.equals(new String(expected, StandardCharsets.US_ASCII));
+        }
+        return Arrays.equals(tokenBytes, 0, tokenLength, expected, 0, expected.length);
+    }
+
+    private String tokenString() {
+        return escapedToken != null ? escapedToken : new String(tokenBytes, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    // Strings and numbers, the first byte is already consumed
+    private void readScalar(int first) throws IOException {
+        if (first == '"') {
+            readString();
+            return;
+        }
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            tokenLength = 0;
+            escapedToken = null;
+            appendTokenByte(first);
+            while (true) {
+                int next = peek();
+                if (next == END_OF_INPUT || "0123456789+-.eE".indexOf(next) < 0) {
+                    break;
+                }
+                appendTokenByte(nextByte());
+            }
+            return;
+        }
+        throw syntaxError("Expected string or number", first);
+    }
+
+    // The opening quote is already consumed
+    private void readString() throws IOException {
+        tokenLength = 0;
+        escapedToken = null;
+        StringBuilder escaped = null;
+        while (true) {
+            int next = nextByte();
+            if (next == '"') {
+                break;
+            }
+            if (next == END_OF_INPUT) {
+                throw syntaxError("Unterminated string", next);
+            }
+            if (next != '\\') {
+                appendTokenByte(next);
+                continue;
+            }
+
+            // Escapes are rare, so the string is only built char by char once there is one
+            if (escaped == null) {
+                escaped = new StringBuilder();
+            }
+            escaped.append(new String(tokenBytes, 0, tokenLength, StandardCharsets.UTF_8));
+            tokenLength = 0;
+            int escape = nextByte();
+            switch (escape) {
+                case '"', '\\', '/' -> escaped.append((char) escape);
+                case 'b' -> escaped.append('\b');
+                case 'f' -> escaped.append('\f');
+                case 'n' -> escaped.append('\n');
+                case 'r' -> escaped.append('\r');
+                case 't' -> escaped.append('\t');
+                case 'u' -> {
+                    int codeUnit = 0;
+                    for (int digit = 0; digit < 4; digit++) {
+                        int hexDigit = Character.digit(nextByte(), 16);
+                        if (hexDigit < 0) {
+                            throw syntaxError("Invalid unicode escape", escape);
+                        }
+                        codeUnit = codeUnit * 16 + hexDigit;
+                    }
+                    escaped.append((char) codeUnit);
+                }
+                default -> throw syntaxError("Invalid escape", escape);
+            }
+        }
+
+        if (escaped != null) {
+            escapedToken = escaped.append(new String(tokenBytes, 0, tokenLength, StandardCharsets.UTF_8)).toString();
+        }
+    }
+
+    // Skips a value of an unknown field, the first byte is already consumed
+    private void skipValue(int first) throws IOException {
+        switch (first) {
+            case '"' -> readString();
+            case '{', '[' -> {
+                int depth = 1;
+                while (depth > 0) {
+                    int next = nextByte();
+                    switch (next) {
+                        case '{', '[' -> depth++;
+                        case '}', ']' -> depth--;
+                        case '"' -> readString();
+                        case END_OF_INPUT -> throw syntaxError("Unterminated value", next);
+                        default -> {
+                        }
+                    }
+                }
+            }
+            default -> {
+                // Numbers and literals (true, false, null) end at the next separator
+                if (first == END_OF_INPUT) {
+                    throw syntaxError("Expected value", first);
+                }
+                while (true) {
+                    int next = peek();
+                    if (next == END_OF_INPUT || next == ',' || next == '}' || next == ']' || isWhitespace(next)) {
+                        break;
+                    }
+                    nextByte();
+                }
+            }
+        }
+    }
+
+    private void appendTokenByte(int value) {
+        if (tokenLength == tokenBytes.length) {
+            tokenBytes = Arrays.copyOf(tokenBytes, tokenLength * 2);
+        }
+        tokenBytes[tokenLength++] = (byte) value;
+    }
+
+    private void expect(char expected) throws IOException {
+        int next = nextNonWhitespace();
+        if (next != expected) {
+            throw syntaxError("Expected '" + expected + "'", next);
+        }
+    }
+
+    private void expectEndOfInput() throws IOException {
+        int next = nextNonWhitespace();
+        if (next != END_OF_INPUT) {
+            throw syntaxError("Expected end of input", next);
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int next;
+        do {
+            next = nextByte();
+        } while (isWhitespace(next));
+        return next;
+    }
+
+    private static boolean isWhitespace(int value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    private int peek() throws IOException {
+        if (!region.hasRemaining() && !mapNextRegion()) {
+            return END_OF_INPUT;
+        }
+        return region.get(region.position()) & 0xFF;
+    }
+
+    private int nextByte() throws IOException {
+        if (!region.hasRemaining() && !mapNextRegion()) {
+            return END_OF_INPUT;
+        }
+        return region.get() & 0xFF;
+    }
+
+    // Position of the next byte in the file
+    private long position() {
+        return regionStart + region.position();
+    }
+
+    private boolean mapNextRegion() throws IOException {
+        long nextRegionStart = regionStart + region.capacity();
+        if (nextRegionStart >= end) {
+            return false;
+        }
+        regionStart = nextRegionStart;
+        region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(end - regionStart, MAX_REGION_SIZE));
+        return true;
+    }
+
+    private JSONException syntaxError(String message, int found) {
+        String foundDescription = found == END_OF_INPUT ? "end of input" : "'" + (char) found + "'";
+        return new JSONException(message + " but found " + foundDescription + " at byte " + position());
+    }
+}
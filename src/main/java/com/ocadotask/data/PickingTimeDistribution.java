@@ -0,0 +1,10 @@
+package com.ocadotask.data;
+
+public enum PickingTimeDistribution {
+    // Every order takes the mean picking time
+    FIXED,
+    // Uniform around the mean, the variation is limited to 1/sqrt(3) (the range then starts at zero)
+    UNIFORM,
+    // Right-skewed, most orders are quick and a few take much longer, as in real baskets
+    LOG_NORMAL
+}
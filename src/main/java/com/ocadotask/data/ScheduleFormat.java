@@ -0,0 +1,13 @@
+package com.ocadotask.data;
+
+public enum ScheduleFormat {
+    // One "pickerId orderId startTime" line per entry, the same as ScheduleEntry.toString
+    TEXT,
+    // pickerId,orderId,startTime header followed by one row per entry, ids are quoted when needed
+    CSV,
+    // Array of {"pickerId": ..., "orderId": ..., "startTime": ...} objects, times formatted as in the input
+    JSON,
+    // "OCSC" magic and format version (ints), then per entry: picker id and order id, each as an int length followed
+    // by UTF-8 bytes, and the start time as an int second of day (big-endian)
+    BINARY
+}
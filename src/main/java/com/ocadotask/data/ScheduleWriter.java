@@ -0,0 +1,296 @@
+package com.ocadotask.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.List;
+
+// Writes schedule entries in the given format through a large direct buffer, which is only flushed to the channel once
+// it is full. Ids and times are encoded straight into the buffer, no String or byte array is created per entry.
+// The output is complete only after close.
+public class ScheduleWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int BINARY_MAGIC = 0x4F435343;
+    private static final int BINARY_VERSION = 1;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CSV_HEADER = "pickerId,orderId,startTime".getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    // Null when the writer owns the channel, otherwise the stream behind it, which is flushed but not closed
+    private final OutputStream stream;
+    private final ScheduleFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private boolean firstEntry = true;
+
+    private ScheduleWriter(WritableByteChannel channel, OutputStream stream, ScheduleFormat format) throws IOException {
+        this.channel = channel;
+        this.stream = stream;
+        this.format = format;
+
+        switch (format) {
+            case TEXT -> {
+            }
+            case CSV -> {
+                putAscii(CSV_HEADER);
+                putAscii(LINE_SEPARATOR);
+            }
+            case JSON -> putByte('[');
+            case BINARY -> {
+                putInt(BINARY_MAGIC);
+                putInt(BINARY_VERSION);
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    public static ScheduleWriter toFile(Path path, ScheduleFormat format) throws IOException {
+        return new ScheduleWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), null, format);
+    }
+
+    // Standard output stays open after close, so other output may follow
+    public static ScheduleWriter toStandardOutput(ScheduleFormat format) throws IOException {
+        return toStream(System.out, format);
+    }
+
+    // The stream is flushed on close but stays open, it belongs to the caller
+    public static ScheduleWriter toStream(OutputStream stream, ScheduleFormat format) throws IOException {
+        return new ScheduleWriter(Channels.newChannel(stream), stream, format);
+    }
+
+    public void writeAll(List<ScheduleEntry> schedule) throws IOException {
+        for (ScheduleEntry entry : schedule) {
+            write(entry);
+        }
+    }
+
+    public void write(ScheduleEntry entry) throws IOException {
+        switch (format) {
+            case TEXT -> {
+                putUtf8(entry.picker().id());
+                putByte(' ');
+                putUtf8(entry.order().id());
+                putByte(' ');
+                putTime(entry.startTime());
+                putAscii(LINE_SEPARATOR);
+            }
+            case CSV -> {
+                putCsvField(entry.picker().id());
+                putByte(',');
+                putCsvField(entry.order().id());
+                putByte(',');
+                putTime(entry.startTime());
+                putAscii(LINE_SEPARATOR);
+            }
+            case JSON -> {
+                if (!firstEntry) {
+                    putByte(',');
+                }
+                putAscii(LINE_SEPARATOR);
+                putJsonField("{\"pickerId\": ", entry.picker().id());
+                putJsonField(", \"orderId\": ", entry.order().id());
+                putAscii(", \"startTime\": \"");
+                putTime(entry.startTime());
+                putAscii("\"}");
+            }
+            case BINARY -> {
+                putInt(utf8Length(entry.picker().id()));
+                putUtf8(entry.picker().id());
+                putInt(utf8Length(entry.order().id()));
+                putUtf8(entry.order().id());
+                putInt(entry.startTime().toSecondOfDay());
+            }
+        }
+        firstEntry = false;
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (format == ScheduleFormat.JSON) {
+                if (!firstEntry) {
+                    putAscii(LINE_SEPARATOR);
+                }
+                putByte(']');
+                putAscii(LINE_SEPARATOR);
+            }
+            flush();
+            if (stream != null) {
+                stream.flush();
+            }
+        } finally {
+            if (stream == null) {
+                channel.close();
+            }
+        }
+    }
+
+    // Same as LocalTime.toString: seconds only when not zero, the rare fraction of a second is left to toString
+    private void putTime(LocalTime time) throws IOException {
+        if (time.getNano() != 0) {
+            putAscii(time.toString());
+            return;
+        }
+        putTwoDigits(time.getHour());
+        putByte(':');
+        putTwoDigits(time.getMinute());
+        if (time.getSecond() != 0) {
+            putByte(':');
+            putTwoDigits(time.getSecond());
+        }
+    }
+
+    private void putTwoDigits(int value) throws IOException {
+        putByte('0' + value / 10);
+        putByte('0' + value % 10);
+    }
+
+    // Quoted only if the id contains a separator, a quote or a line break, quotes are doubled
+    private void putCsvField(String value) throws IOException {
+        boolean quoted = false;
+        for (int index = 0; index < value.length() && !quoted; index++) {
+            char character = value.charAt(index);
+            quoted = character == ',' || character == '"' || character == '\n' || character == '\r';
+        }
+        if (!quoted) {
+            putUtf8(value);
+            return;
+        }
+        putByte('"');
+        int index = 0;
+        while (index < value.length()) {
+            if (value.charAt(index) == '"') {
+                putByte('"');
+            }
+            index += putChar(value, index);
+        }
+        putByte('"');
+    }
+
+    private void putJsonField(String prefix, String value) throws IOException {
+        putAscii(prefix);
+        putByte('"');
+        int index = 0;
+        while (index < value.length()) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '"', '\\' -> {
+                    putByte('\\');
+                    putByte(character);
+                }
+                case '\n' -> putAscii("\\n");
+                case '\r' -> putAscii("\\r");
+                case '\t' -> putAscii("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        putAscii("\\u00");
+                        putByte(Character.forDigit(character >> 4, 16));
+                        putByte(Character.forDigit(character & 0xF, 16));
+                    } else {
+                        index += putChar(value, index) - 1;
+                    }
+                }
+            }
+            index++;
+        }
+        putByte('"');
+    }
+
+    private void putUtf8(String value) throws IOException {
+        int index = 0;
+        while (index < value.length()) {
+            index += putChar(value, index);
+        }
+    }
+
+    // UTF-8 encoding of the character at index, a surrogate pair is encoded as one code point and an unpaired
+    // surrogate as '?', the same as String.getBytes does. Returns the number of encoded chars.
+    private int putChar(String value, int index) throws IOException {
+        char character = value.charAt(index);
+        if (character < 0x80) {
+            putByte(character);
+        } else if (character < 0x800) {
+            putByte(0xC0 | (character >> 6));
+            putByte(0x80 | (character & 0x3F));
+        } else if (!Character.isSurrogate(character)) {
+            putByte(0xE0 | (character >> 12));
+            putByte(0x80 | ((character >> 6) & 0x3F));
+            putByte(0x80 | (character & 0x3F));
+        } else if (Character.isHighSurrogate(character) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(character, value.charAt(index + 1));
+            putByte(0xF0 | (codePoint >> 18));
+            putByte(0x80 | ((codePoint >> 12) & 0x3F));
+            putByte(0x80 | ((codePoint >> 6) & 0x3F));
+            putByte(0x80 | (codePoint & 0x3F));
+            return 2;
+        } else {
+            putByte('?');
+        }
+        return 1;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character < 0x80) {
+                length += 1;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && index + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(index + 1))) {
+                length += 4;
+                index++;
+            } else if (Character.isSurrogate(character)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void putAscii(String value) throws IOException {
+        for (int index = 0; index < value.length(); index++) {
+            putByte(value.charAt(index));
+        }
+    }
+
+    private void putAscii(byte[] value) throws IOException {
+        for (byte character : value) {
+            putByte(character);
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+        buffer.putInt(value);
+    }
+
+    private void putByte(int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ocadotask.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Store and orders of one wave in a compact binary file, loaded without any parsing: the file is memory-mapped and
+// every column is bulk-copied into the arrays of an OrderTable. Layout (big-endian):
+// 1. header - magic "OCSN", format version, picking start and end time (second of day), number of pickers and orders,
+//    lengths of the picker and order id bytes, number of picker available times (all ints)
+// 2. picker available times (second of day, ints) - none when every picker is available from the picking start time,
+//    otherwise one per picker, see Store
+// 3. string dictionary - picker ids, then order ids, each as int offsets (one more than ids) followed by UTF-8 bytes
+// 4. columns - order values in cents, picking times and completeBy times in seconds (longs), aligned to 8 bytes
+// Version 1 files have no picker available times (neither their number in the header nor the section), they are still
+// read.
+public record Snapshot(Store store, OrderTable orders) {
+
+    private static final int MAGIC = 0x4F43534E;
+    private static final int VERSION = 2;
+    private static final int VERSION_1_HEADER_SIZE = 8 * Integer.BYTES;
+    private static final int HEADER_SIZE = 9 * Integer.BYTES;
+
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < VERSION_1_HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            int headerSize = version == 1 ? VERSION_1_HEADER_SIZE : HEADER_SIZE;
+            if (channel.size() < headerSize) {
+                throw new IOException("Corrupted snapshot file: " + path);
+            }
+            LocalTime pickingStartTime = LocalTime.ofSecondOfDay(buffer.getInt());
+            LocalTime pickingEndTime = LocalTime.ofSecondOfDay(buffer.getInt());
+            int numPickers = buffer.getInt();
+            int numOrders = buffer.getInt();
+            int pickerIdLength = buffer.getInt();
+            int orderIdLength = buffer.getInt();
+            int numAvailableTimes = version == 1 ? 0 : buffer.getInt();
+            if (numPickers < 0 || numOrders < 0 || pickerIdLength < 0 || orderIdLength < 0
+                    || numAvailableTimes != 0 && numAvailableTimes != numPickers
+                    || size(headerSize, numPickers, numAvailableTimes, numOrders, pickerIdLength, orderIdLength) != channel.size()) {
+                throw new IOException("Corrupted snapshot file: " + path);
+            }
+
+            List<LocalTime> pickerAvailableTimes = new ArrayList<>(numAvailableTimes);
+            for (int availableTime : getInts(buffer, numAvailableTimes)) {
+                if (availableTime < 0 || availableTime >= 24 * 60 * 60) {
+                    throw new IOException("Corrupted snapshot file: " + path);
+                }
+                pickerAvailableTimes.add(LocalTime.ofSecondOfDay(availableTime));
+            }
+
+            int[] pickerIdOffsets = getInts(buffer, numPickers + 1);
+            byte[] pickerIdBytes = getBytes(buffer, pickerIdLength);
+            List<Picker> pickers = new ArrayList<>(numPickers);
+            for (int pickerIndex = 0; pickerIndex < numPickers; pickerIndex++) {
+                pickers.add(new Picker(new String(pickerIdBytes, pickerIdOffsets[pickerIndex],
+                        pickerIdOffsets[pickerIndex + 1] - pickerIdOffsets[pickerIndex], StandardCharsets.UTF_8)));
+            }
+
+            int[] orderIdOffsets = getInts(buffer, numOrders + 1);
+            byte[] orderIdBytes = getBytes(buffer, orderIdLength);
+            buffer.position(align(buffer.position()));
+            long[] valueCents = getLongs(buffer, numOrders);
+            long[] pickingSeconds = getLongs(buffer, numOrders);
+            long[] completeBySeconds = getLongs(buffer, numOrders);
+
+            return new Snapshot(new Store(Collections.unmodifiableList(pickers), pickingStartTime, pickingEndTime,
+                    Collections.unmodifiableList(pickerAvailableTimes)),
+                    OrderTable.of(orderIdBytes, orderIdOffsets, valueCents, pickingSeconds, completeBySeconds));
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        List<Picker> pickers = store.pickers();
+        int[] pickerIdOffsets = new int[pickers.size() + 1];
+        List<byte[]> pickerIds = new ArrayList<>(pickers.size());
+        for (int pickerIndex = 0; pickerIndex < pickers.size(); pickerIndex++) {
+            byte[] id = pickers.get(pickerIndex).id().getBytes(StandardCharsets.UTF_8);
+            pickerIds.add(id);
+            pickerIdOffsets[pickerIndex + 1] = pickerIdOffsets[pickerIndex] + id.length;
+        }
+
+        int[] pickerAvailableTimes = store.pickerAvailableTimes().stream().mapToInt(LocalTime::toSecondOfDay).toArray();
+
+        int numOrders = orders.size();
+        int pickerIdLength = pickerIdOffsets[pickers.size()];
+        int orderIdLength = orders.idOffsets()[numOrders];
+        long size = size(HEADER_SIZE, pickers.size(), pickerAvailableTimes.length, numOrders, pickerIdLength, orderIdLength);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large: " + size + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(store.pickingStartTime().toSecondOfDay())
+                    .putInt(store.pickingEndTime().toSecondOfDay())
+                    .putInt(pickers.size())
+                    .putInt(numOrders)
+                    .putInt(pickerIdLength)
+                    .putInt(orderIdLength)
+                    .putInt(pickerAvailableTimes.length);
+
+            putInts(buffer, pickerAvailableTimes);
+            putInts(buffer, pickerIdOffsets);
+            for (byte[] id : pickerIds) {
+                buffer.put(id);
+            }
+            putInts(buffer, orders.idOffsets());
+            buffer.put(orders.idBytes(), 0, orderIdLength);
+            buffer.position(align(buffer.position()));
+            putLongs(buffer, orders.valueCents());
+            putLongs(buffer, orders.pickingSeconds());
+            putLongs(buffer, orders.completeBySeconds());
+            buffer.force();
+        }
+    }
+
+    private static long size(int headerSize, int numPickers, int numAvailableTimes, int numOrders, int pickerIdLength,
+                             int orderIdLength) {
+        long dictionarySize = (long) Integer.BYTES * (numPickers + 1) + pickerIdLength
+                + (long) Integer.BYTES * (numOrders + 1) + orderIdLength;
+        return align(headerSize + (long) Integer.BYTES * numAvailableTimes + dictionarySize) + 3L * Long.BYTES * numOrders;
+    }
+
+    private static long align(long position) {
+        return (position + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    private static int align(int position) {
+        return (int) align((long) position);
+    }
+
+    // The bulk views share the content of the buffer but not its position, so it is moved past the copied values
+    private static int[] getInts(ByteBuffer buffer, int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int length) {
+        long[] values = new long[length];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + length * Long.BYTES);
+        return values;
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer, int length) {
+        byte[] values = new byte[length];
+        buffer.get(values);
+        return values;
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values) {
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+    }
+}
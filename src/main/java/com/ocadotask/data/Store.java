@@ -5,14 +5,39 @@ import org.json.JSONObject;
 import java.time.LocalTime;
 import java.util.List;
 
-public record Store(List<Picker> pickers, LocalTime pickingStartTime, LocalTime pickingEndTime) {
+// pickerAvailableTimes is empty when every picker is available from the picking start time, otherwise it holds the time
+// every picker (at the same index) finishes the work already committed to it, e.g. when rescheduling during the day
+public record Store(List<Picker> pickers, LocalTime pickingStartTime, LocalTime pickingEndTime,
+                    List<LocalTime> pickerAvailableTimes) {
+
+    public Store {
+        if (!pickerAvailableTimes.isEmpty() && pickerAvailableTimes.size() != pickers.size()) {
+            throw new IllegalArgumentException("Picker available times don't match pickers: "
+                    + pickerAvailableTimes.size() + " times for " + pickers.size() + " pickers");
+        }
+    }
+
+    public Store(List<Picker> pickers, LocalTime pickingStartTime, LocalTime pickingEndTime) {
+        this(pickers, pickingStartTime, pickingEndTime, List.of());
+    }
 
     public static Store parse(String json) {
-        JSONObject jsonObject = new JSONObject(json);
+        return parse(new JSONObject(json));
+    }
+
+    public static Store parse(JSONObject jsonObject) {
         return new Store(
                 Pickers.parse(jsonObject.getJSONArray("pickers")),
                 LocalTime.parse(jsonObject.getString("pickingStartTime")),
                 LocalTime.parse(jsonObject.getString("pickingEndTime"))
         );
     }
+
+    // Never before the picking start time
+    public LocalTime pickerAvailableTime(int pickerIndex) {
+        if (pickerAvailableTimes.isEmpty() || pickerAvailableTimes.get(pickerIndex).isBefore(pickingStartTime)) {
+            return pickingStartTime;
+        }
+        return pickerAvailableTimes.get(pickerIndex);
+    }
 }
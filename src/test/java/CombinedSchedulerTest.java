@@ -1,15 +1,27 @@
 import com.ocadotask.algorithm.CombinedScheduler;
+import com.ocadotask.algorithm.Incumbent;
+import com.ocadotask.algorithm.IncumbentHolder;
 import com.ocadotask.algorithm.Scheduler;
 import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
 import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Picker;
 import com.ocadotask.data.Orders;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CombinedSchedulerTest {
@@ -133,4 +145,118 @@ public class CombinedSchedulerTest {
         List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
         assertTrue(scheduleEntries.isEmpty());
     }
+
+    @Test
+    public void calculateSchedule_CancelledOnFirstIncumbent_ReturnsBeforeTimeLimit() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = new ArrayList<>();
+        for (int index = 0; index < 200; index++) {
+            orders.add(new Order("order-" + index, BigDecimal.valueOf(index % 17 + 1), Duration.ofMinutes(index % 50 + 5),
+                    LocalTime.of(9, 0).plusMinutes(index * 7L % 480 + 30)));
+        }
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2"), new Picker("P3")),
+                LocalTime.parse("09:00"), LocalTime.parse("17:00"));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Incumbent> notified = new ArrayList<>();
+        incumbents.subscribe(incumbent -> {
+            notified.add(incumbent);
+            incumbents.cancel();
+        });
+
+        long start = System.nanoTime();
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 60, incumbents);
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(incumbents.best().orElseThrow().schedule(), scheduleEntries);
+        assertFalse(notified.isEmpty());
+    }
+
+    @Test
+    public void calculateSchedule_SmallInstanceSolvedToOptimality_ReturnsBeforeDeadline() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(20, 2));
+        Store store = generator.store();
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+
+        Instant deadline = Instant.now().plusSeconds(60);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(generator.orders(), store, deadline, incumbents);
+
+        assertTrue(Instant.now().isBefore(deadline.minusSeconds(30)));
+        assertTrue(incumbents.isOptimal());
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(incumbents.best().orElseThrow().schedule(), scheduleEntries);
+    }
+
+    @Test
+    public void calculateSchedule_UnderloadedInstance_ReturnsOnceUpperBoundReached() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(1000, 12).withOverloadRatio(0.5));
+        Store store = generator.store();
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+
+        Instant deadline = Instant.now().plusSeconds(60);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(generator.orders(), store, deadline, incumbents);
+
+        assertTrue(Instant.now().isBefore(deadline.minusSeconds(30)));
+        assertTrue(incumbents.isOptimal());
+        assertEquals(incumbents.upperBound(), TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+    }
+
+    @Test
+    public void calculateSchedule_Deadline_ReturnsByDeadline() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = new ArrayList<>();
+        for (int index = 0; index < 900; index++) {
+            orders.add(new Order("order-" + index, BigDecimal.valueOf(index % 17 + 1), Duration.ofMinutes(index % 50 + 5),
+                    LocalTime.of(9, 0).plusMinutes(index * 7L % 480 + 30)));
+        }
+        List<Picker> pickers = new ArrayList<>();
+        for (int pickerIndex = 0; pickerIndex < 20; pickerIndex++) {
+            pickers.add(new Picker("P" + pickerIndex));
+        }
+        Store store = new Store(pickers, LocalTime.parse("09:00"), LocalTime.parse("17:00"));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+
+        Instant deadline = Instant.now().plusSeconds(2);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, deadline, incumbents);
+
+        assertTrue(Instant.now().isBefore(deadline.plusMillis(200)));
+        assertTrue(incumbents.isCancelled());
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertFalse(scheduleEntries.isEmpty());
+    }
+
+    @Test
+    public void calculateSchedule_SeededWithoutTime_ReturnsAtLeastSeedFitness() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(900, 20));
+        Store store = generator.store();
+        // Better than the greedy schedule, which is all the schedulers can find without time
+        List<ScheduleEntry> seed = scheduler.calculateSchedule(generator.orders(), store, 2);
+
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(generator.orders(), store, 0, List.of(seed));
+
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertTrue(TestUtils.getScheduleValueFitness(scheduleEntries, store)
+                >= TestUtils.getScheduleValueFitness(seed, store) - 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_GeneratedLargeInstance_ReturnsValidScheduleByDeadline() {
+        Scheduler scheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(20_000, 50));
+        OrderTable orders = generator.orderTable();
+        Store store = generator.store();
+
+        Instant deadline = Instant.now().plusSeconds(3);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, deadline,
+                new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE));
+
+        // Some more slack than for small problems, the cancelled schedulers leave a lot of garbage behind
+        assertTrue(Instant.now().isBefore(deadline.plusMillis(500)));
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertFalse(scheduleEntries.isEmpty());
+    }
 }
@@ -1,12 +1,22 @@
+import com.ocadotask.algorithm.CpSatModel;
 import com.ocadotask.algorithm.CpSatScheduler;
+import com.ocadotask.algorithm.CpSatSchedulerSettings;
+import com.ocadotask.algorithm.GreedyScheduler;
+import com.ocadotask.algorithm.IncumbentHolder;
 import com.ocadotask.algorithm.Scheduler;
 import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
 import com.ocadotask.data.Order;
 import com.ocadotask.data.Orders;
+import com.ocadotask.data.Picker;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -137,6 +147,188 @@ public class CpSatSchedulerTest {
         assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
     }
 
+    @Test
+    public void calculateSchedule_CumulativeModelMaximizeCount_ReturnsSchedule() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                CpSatSchedulerSettings.defaults().withModel(CpSatModel.CUMULATIVE));
+        List<Order> orders = Orders.parse(
+                """
+                                [
+                                  {
+                                    "orderId": "order-1",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT15M",
+                                    "completeBy": "09:15"
+                                  },
+                                  {
+                                    "orderId": "order-2",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT30M",
+                                    "completeBy": "09:30"
+                                  },
+                                  {
+                                    "orderId": "order-3",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT15M",
+                                    "completeBy": "10:00"
+                                  },
+                                  {
+                                    "orderId": "order-4",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT15M",
+                                    "completeBy": "10:00"
+                                  },
+                                  {
+                                    "orderId": "order-5",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT60M",
+                                    "completeBy": "10:15"
+                                  },
+                                  {
+                                    "orderId": "order-6",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT30M",
+                                    "completeBy": "10:45"
+                                  },
+                                  {
+                                    "orderId": "order-7",
+                                    "orderValue": "0.00",
+                                    "pickingTime": "PT45M",
+                                    "completeBy": "11:00"
+                                  }
+                                ]
+
+                        """);
+        Store store = Store.parse(
+                """
+                                {
+                                  "pickers": [
+                                    "P1",
+                                    "P2"
+                                  ],
+                                  "pickingStartTime": "09:00",
+                                  "pickingEndTime": "11:00"
+                                }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(7, TestUtils.getScheduleOrderFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_CumulativeModelMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                CpSatSchedulerSettings.defaults().withModel(CpSatModel.CUMULATIVE));
+        List<Order> orders = Orders.parse(
+                """
+                                [
+                                   {
+                                     "orderId": "order-1",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT15M",
+                                     "completeBy": "09:15"
+                                   },
+                                   {
+                                     "orderId": "order-2",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT30M",
+                                     "completeBy": "10:00"
+                                   },
+                                   {
+                                     "orderId": "order-3",
+                                     "orderValue": "10.00",
+                                     "pickingTime": "PT45M",
+                                     "completeBy": "10:00"
+                                   },
+                                   {
+                                     "orderId": "order-4",
+                                     "orderValue": "20.00",
+                                     "pickingTime": "PT45M",
+                                     "completeBy": "09:45"
+                                   },
+                                   {
+                                     "orderId": "order-5",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT30M",
+                                     "completeBy": "10:00"
+                                   }
+                                 ]
+                        """);
+        Store store = Store.parse(
+                """
+                                {
+                                  "pickers": [
+                                    "P1",
+                                    "P2"
+                                  ],
+                                  "pickingStartTime": "09:00",
+                                  "pickingEndTime": "10:00"
+                                }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_SeededSingleWorkerMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                CpSatSchedulerSettings.defaults().withWorkers(1).withLinearizationLevel(2));
+        List<Order> orders = Orders.parse(
+                """
+                                [
+                                   {
+                                     "orderId": "order-1",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT15M",
+                                     "completeBy": "09:15"
+                                   },
+                                   {
+                                     "orderId": "order-2",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT30M",
+                                     "completeBy": "10:00"
+                                   },
+                                   {
+                                     "orderId": "order-3",
+                                     "orderValue": "10.00",
+                                     "pickingTime": "PT45M",
+                                     "completeBy": "10:00"
+                                   },
+                                   {
+                                     "orderId": "order-4",
+                                     "orderValue": "20.00",
+                                     "pickingTime": "PT45M",
+                                     "completeBy": "09:45"
+                                   },
+                                   {
+                                     "orderId": "order-5",
+                                     "orderValue": "5.00",
+                                     "pickingTime": "PT30M",
+                                     "completeBy": "10:00"
+                                   }
+                                 ]
+                        """);
+        Store store = Store.parse(
+                """
+                                {
+                                  "pickers": [
+                                    "P1",
+                                    "P2"
+                                  ],
+                                  "pickingStartTime": "09:00",
+                                  "pickingEndTime": "10:00"
+                                }
+                        """
+        );
+        List<ScheduleEntry> seed = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE).calculateSchedule(orders, store, 1);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10, List.of(seed));
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
     @Test
     public void calculateSchedule_ProblemMaximizeCount_ReturnsEmptySchedule() {
         Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
@@ -203,4 +395,125 @@ public class CpSatSchedulerTest {
         List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
         assertTrue(scheduleEntries.isEmpty());
     }
+
+    @Test
+    public void calculateSchedule_ProblemAboveSizeThresholdMaximizeCount_ReturnsRollingHorizonSchedule() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        // Ten one-minute orders due every minute, exactly enough for ten pickers
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 1_200; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.ZERO, Duration.ofMinutes(1),
+                    LocalTime.of(9, 1).plusMinutes(orderIndex / 10)));
+        }
+        List<Picker> pickers = new ArrayList<>();
+        for (int pickerIndex = 0; pickerIndex < 10; pickerIndex++) {
+            pickers.add(new Picker("P" + pickerIndex));
+        }
+        Store store = new Store(pickers, LocalTime.of(9, 0), LocalTime.of(11, 0));
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 3);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(1_200, TestUtils.getScheduleOrderFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_ProblemAboveSizeThresholdWithoutRollingHorizon_ReturnsEmptySchedule() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                CpSatSchedulerSettings.defaults().withWindow(0, 0));
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 1_200; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.ZERO, Duration.ofMinutes(1), LocalTime.of(11, 0)));
+        }
+        Store store = new Store(List.of(new Picker("P1")), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 1);
+        assertTrue(scheduleEntries.isEmpty());
+    }
+
+    @Test
+    public void calculateSchedule_CancelledOnFirstSolution_ReturnsBeforeTimeLimit() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 200; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.valueOf(orderIndex % 17 + 1),
+                    Duration.ofMinutes(orderIndex % 50 + 5), LocalTime.of(9, 30).plusMinutes(orderIndex * 7L % 480)));
+        }
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2"), new Picker("P3")),
+                LocalTime.of(9, 0), LocalTime.of(17, 0));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Double> notified = new ArrayList<>();
+        incumbents.subscribe(incumbent -> {
+            notified.add(incumbent.fitness());
+            incumbents.cancel();
+        });
+
+        long start = System.nanoTime();
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 60, incumbents);
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(notified.get(0), TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_ValuesNotExactInDouble_ReturnsOptimalSchedule() {
+        // 1.13 * 100 is just below 113 as a double, 0.56 * 100 just above 56
+        Order single = new Order("order-1", new BigDecimal("1.13"), Duration.ofMinutes(60), LocalTime.parse("10:00"));
+        List<Order> orders = List.of(single,
+                new Order("order-2", new BigDecimal("0.56"), Duration.ofMinutes(30), LocalTime.parse("10:00")),
+                new Order("order-3", new BigDecimal("0.56"), Duration.ofMinutes(30), LocalTime.parse("10:00")));
+        Store store = new Store(List.of(new Picker("P1")), LocalTime.parse("09:00"), LocalTime.parse("10:00"));
+
+        for (CpSatModel model : CpSatModel.values()) {
+            Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                    CpSatSchedulerSettings.defaults().withModel(model));
+            IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+
+            List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store,
+                    Instant.now().plusSeconds(10), incumbents);
+
+            assertEquals(List.of(new ScheduleEntry(new Picker("P1"), single, LocalTime.parse("09:00"))), scheduleEntries);
+            assertTrue(incumbents.isOptimal());
+        }
+    }
+
+    @Test
+    public void calculateSchedule_IncumbentOfferedMaximizeValue_ReturnsAtLeastIncumbentFitness() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 100; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.valueOf(orderIndex % 13 + 1),
+                    Duration.ofMinutes(orderIndex % 40 + 5), LocalTime.of(9, 30).plusMinutes(orderIndex * 11L % 360)));
+        }
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2")), LocalTime.of(9, 0), LocalTime.of(15, 0));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> incumbent = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE).calculateSchedule(orders, store, 1);
+        incumbents.offer(incumbent);
+
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 1, incumbents);
+
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertTrue(TestUtils.getScheduleValueFitness(scheduleEntries, store)
+                >= TestUtils.getScheduleValueFitness(incumbent, store) - 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_DeadlineDuringModelBuilding_ReturnsByDeadline() {
+        Scheduler scheduler = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 1_000; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.valueOf(orderIndex % 13 + 1),
+                    Duration.ofMinutes(orderIndex % 40 + 5), LocalTime.of(9, 30).plusMinutes(orderIndex * 11L % 480)));
+        }
+        List<Picker> pickers = new ArrayList<>();
+        for (int pickerIndex = 0; pickerIndex < 50; pickerIndex++) {
+            pickers.add(new Picker("P" + pickerIndex));
+        }
+        Store store = new Store(pickers, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        Instant deadline = Instant.now().plusMillis(300);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, deadline,
+                new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE));
+
+        assertTrue(Instant.now().isBefore(deadline.plusMillis(500)));
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+    }
 }
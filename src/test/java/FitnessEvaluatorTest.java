@@ -0,0 +1,115 @@
+import com.ocadotask.algorithm.FitnessEvaluator;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FitnessEvaluatorTest {
+
+    private static final List<Order> ORDERS = Orders.parse(
+            """
+                    [
+                      {
+                        "orderId": "order-1",
+                        "orderValue": "5.00",
+                        "pickingTime": "PT15M",
+                        "completeBy": "09:15"
+                      },
+                      {
+                        "orderId": "order-2",
+                        "orderValue": "5.00",
+                        "pickingTime": "PT30M",
+                        "completeBy": "10:00"
+                      },
+                      {
+                        "orderId": "order-3",
+                        "orderValue": "10.00",
+                        "pickingTime": "PT45M",
+                        "completeBy": "10:00"
+                      },
+                      {
+                        "orderId": "order-4",
+                        "orderValue": "20.00",
+                        "pickingTime": "PT45M",
+                        "completeBy": "09:45"
+                      }
+                    ]
+                    """
+    );
+
+    private static final Store STORE = Store.parse(
+            """
+                    {
+                      "pickers": [
+                        "P1",
+                        "P2"
+                      ],
+                      "pickingStartTime": "09:00",
+                      "pickingEndTime": "10:00"
+                    }
+                    """
+    );
+
+    @Test
+    public void evaluate_InterleavedPickers_ReturnsValueOfScheduledOrders() {
+        FitnessEvaluator evaluator = new FitnessEvaluator(ORDERS, STORE, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        // P1: order-1, order-3, P2: order-4, order-2 (too late)
+        int[] pickerAssignment = {0, 1, 0, 1};
+        int[] orderSequence = {0, 3, 2, 1};
+
+        assertEquals(35, evaluator.evaluate(pickerAssignment, orderSequence), 0.01);
+    }
+
+    @Test
+    public void evaluate_ValuesWithFractionsOfCents_SameFitnessAsIncumbentHolder() {
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 12; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, new BigDecimal("0.1" + orderIndex + "5"), Duration.ofMinutes(10),
+                    LocalTime.parse("11:00")));
+        }
+        FitnessEvaluator evaluator = new FitnessEvaluator(orders, STORE, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        int[] pickerAssignment = {0, 1, 0, 1, 0, 1, 0, 1, 0, 1, 0, 1};
+        int[] orderSequence = {11, 3, 7, 0, 5, 9, 1, 10, 2, 8, 4, 6};
+
+        double fitness = evaluator.evaluate(pickerAssignment, orderSequence);
+
+        assertEquals(new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE)
+                .fitness(evaluator.createSchedule(pickerAssignment, orderSequence)), fitness);
+    }
+
+    @Test
+    public void createSchedule_InterleavedPickers_MatchesEvaluatedFitness() {
+        FitnessEvaluator evaluator = new FitnessEvaluator(ORDERS, STORE, SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        int[] pickerAssignment = {1, 0, 0, 1};
+        int[] orderSequence = {1, 0, 3, 2};
+
+        List<ScheduleEntry> scheduleEntries = evaluator.createSchedule(pickerAssignment, orderSequence);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, STORE));
+        assertEquals(evaluator.evaluate(pickerAssignment, orderSequence), TestUtils.getScheduleOrderFitness(scheduleEntries, STORE), 0.01);
+    }
+
+    @Test
+    public void encodeSchedule_CreatedSchedule_KeepsFitness() {
+        FitnessEvaluator evaluator = new FitnessEvaluator(ORDERS, STORE, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> scheduleEntries = evaluator.createSchedule(new int[]{0, 1, 0, 1}, new int[]{0, 3, 2, 1});
+
+        int[] pickerAssignment = new int[ORDERS.size()];
+        int[] orderSequence = new int[ORDERS.size()];
+        evaluator.encodeSchedule(scheduleEntries, pickerAssignment, orderSequence);
+
+        assertEquals(35, evaluator.evaluate(pickerAssignment, orderSequence), 0.01);
+        assertEquals(scheduleEntries, evaluator.createSchedule(pickerAssignment, orderSequence));
+    }
+}
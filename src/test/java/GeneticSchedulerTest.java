@@ -1,12 +1,27 @@
+import com.ocadotask.algorithm.CrossoverOperator;
 import com.ocadotask.algorithm.GeneticScheduler;
+import com.ocadotask.algorithm.GeneticSchedulerSettings;
+import com.ocadotask.algorithm.GenotypeEncoding;
+import com.ocadotask.algorithm.GreedyScheduler;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.MutationOperator;
 import com.ocadotask.algorithm.Scheduler;
 import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
 import com.ocadotask.data.Order;
 import com.ocadotask.data.Orders;
+import com.ocadotask.data.Picker;
 import com.ocadotask.data.ScheduleEntry;
 import com.ocadotask.data.Store;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -126,6 +141,291 @@ public class GeneticSchedulerTest {
         assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
     }
 
+    @Test
+    public void calculateSchedule_SeededMaximizeValue_ReturnsAtLeastSeedFitness() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<Order> orders = Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "order-2",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "10.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-4",
+                            "orderValue": "20.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "09:45"
+                          },
+                          {
+                            "orderId": "order-5",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        );
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "P2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "10:00"
+                        }
+                        """
+        );
+        List<ScheduleEntry> seed = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE).calculateSchedule(orders, store, 1);
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 1, List.of(seed));
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_CompactEncodingMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.defaults().withEncoding(GenotypeEncoding.COMPACT));
+        List<Order> orders = Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "order-2",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "10.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-4",
+                            "orderValue": "20.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "09:45"
+                          },
+                          {
+                            "orderId": "order-5",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        );
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "P2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "10:00"
+                        }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_MemeticMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.memetic());
+        List<Order> orders = Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "order-2",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "10.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-4",
+                            "orderValue": "20.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "09:45"
+                          },
+                          {
+                            "orderId": "order-5",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        );
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "P2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "10:00"
+                        }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_MixedEncodingPermutationOperatorsMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.defaults().withOperators(CrossoverOperator.EDGE_RECOMBINATION, MutationOperator.INVERSION));
+        List<Order> orders = Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "order-2",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "10.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-4",
+                            "orderValue": "20.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "09:45"
+                          },
+                          {
+                            "orderId": "order-5",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        );
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "P2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "10:00"
+                        }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_IslandModelMaximizeValue_ReturnsSchedule() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.defaults().withIslands(4).withMigration(5, 2));
+        List<Order> orders = Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "order-2",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "10.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          },
+                          {
+                            "orderId": "order-4",
+                            "orderValue": "20.00",
+                            "pickingTime": "PT45M",
+                            "completeBy": "09:45"
+                          },
+                          {
+                            "orderId": "order-5",
+                            "orderValue": "5.00",
+                            "pickingTime": "PT30M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        );
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "P2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "10:00"
+                        }
+                        """
+        );
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(35, TestUtils.getScheduleValueFitness(scheduleEntries, store), 0.01);
+    }
+
     @Test
     public void calculateSchedule_ProblemMaximizeCount_ReturnsEmptySchedule() {
         Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
@@ -162,4 +462,67 @@ public class GeneticSchedulerTest {
         List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 10);
         assertTrue(scheduleEntries.isEmpty());
     }
+
+    @Test
+    public void calculateSchedule_SeedReachesUpperBound_StopsAfterFirstGeneration() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(3000, 30).withOverloadRatio(0.5));
+        Store store = generator.store();
+        // Every order fits, so the greedy schedule is optimal. It makes up the whole initial population, so that the
+        // survivors of the first generation are all optimal.
+        List<ScheduleEntry> greedySchedule = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT)
+                .calculateSchedule(generator.orders(), store, 1);
+
+        Instant start = Instant.now();
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(generator.orders(), store, 60,
+                Collections.nCopies(GeneticSchedulerSettings.defaults().populationSize(), greedySchedule));
+
+        assertTrue(Instant.now().isBefore(start.plusSeconds(3)));
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertEquals(3000, TestUtils.getScheduleOrderFitness(scheduleEntries, store));
+    }
+
+    @Test
+    public void calculateSchedule_BetterIncumbentOfferedMaximizeValue_ReturnsAtLeastIncumbentFitness() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.defaults().withGreedySeed(false).withPopulationSize(10));
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 60; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.valueOf(orderIndex % 13 + 1),
+                    Duration.ofMinutes(orderIndex % 40 + 5), LocalTime.of(9, 30).plusMinutes(orderIndex * 11L % 240)));
+        }
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2")), LocalTime.of(9, 0), LocalTime.of(13, 0));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        // Stands in for a solution found by another scheduler, the genetic scheduler is not seeded with it
+        List<ScheduleEntry> incumbent = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE).calculateSchedule(orders, store, 1);
+        incumbents.offer(incumbent);
+
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, 1, incumbents);
+
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertTrue(TestUtils.getScheduleValueFitness(scheduleEntries, store)
+                >= TestUtils.getScheduleValueFitness(incumbent, store) - 0.01);
+    }
+
+    @Test
+    public void calculateSchedule_SeededWithDeadlineMaximizeValue_ReturnsAtLeastSeedFitness() {
+        Scheduler scheduler = new GeneticScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                GeneticSchedulerSettings.defaults().withGreedySeed(false).withPopulationSize(10));
+        List<Order> orders = new ArrayList<>();
+        for (int orderIndex = 0; orderIndex < 60; orderIndex++) {
+            orders.add(new Order("order-" + orderIndex, BigDecimal.valueOf(orderIndex % 13 + 1),
+                    Duration.ofMinutes(orderIndex % 40 + 5), LocalTime.of(9, 30).plusMinutes(orderIndex * 11L % 240)));
+        }
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2")), LocalTime.of(9, 0), LocalTime.of(13, 0));
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> seed = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE).calculateSchedule(orders, store, 1);
+
+        List<ScheduleEntry> scheduleEntries = scheduler.calculateSchedule(orders, store, Instant.now().plusSeconds(1),
+                incumbents, List.of(seed));
+
+        assertTrue(TestUtils.isValidSchedule(scheduleEntries, store));
+        assertTrue(TestUtils.getScheduleValueFitness(scheduleEntries, store)
+                >= TestUtils.getScheduleValueFitness(seed, store) - 0.01);
+        assertTrue(incumbents.best().orElseThrow().fitness() >= TestUtils.getScheduleValueFitness(seed, store) - 0.01);
+    }
 }
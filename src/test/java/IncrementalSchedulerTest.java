@@ -0,0 +1,123 @@
+import com.ocadotask.algorithm.CombinedScheduler;
+import com.ocadotask.algorithm.CpSatScheduler;
+import com.ocadotask.algorithm.GreedyScheduler;
+import com.ocadotask.algorithm.IncrementalScheduler;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalSchedulerTest {
+
+    private static final Store STORE = new Store(List.of(new Picker("P1"), new Picker("P2")),
+            LocalTime.parse("09:00"), LocalTime.parse("12:00"));
+
+    private static Order order(String id, int pickingMinutes, String completeBy) {
+        return new Order(id, BigDecimal.ONE, Duration.ofMinutes(pickingMinutes), LocalTime.parse(completeBy));
+    }
+
+    private static List<ScheduleEntry> initialSchedule() {
+        List<Order> orders = new ArrayList<>();
+        for (int index = 1; index <= 8; index++) {
+            orders.add(order("order-" + index, 30, "12:00"));
+        }
+        return new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT).calculateSchedule(orders, STORE, 1);
+    }
+
+    @Test
+    public void reschedule_StartedEntries_FrozenAndPickersBusyUntilDone() {
+        List<ScheduleEntry> schedule = initialSchedule();
+        LocalTime now = LocalTime.parse("09:45");
+        IncrementalScheduler scheduler = new IncrementalScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT));
+
+        List<ScheduleEntry> rescheduled = scheduler.reschedule(schedule, now,
+                List.of(order("order-9", 15, "10:30")), Set.of(), STORE, 1);
+
+        for (ScheduleEntry entry : schedule) {
+            if (entry.startTime().isBefore(now)) {
+                assertTrue(rescheduled.contains(entry));
+            }
+        }
+        for (ScheduleEntry entry : rescheduled) {
+            assertTrue(schedule.contains(entry) || !entry.startTime().isBefore(now));
+        }
+        assertTrue(TestUtils.isValidSchedule(rescheduled, STORE));
+        assertTrue(rescheduled.stream().anyMatch(entry -> entry.order().id().equals("order-9")));
+    }
+
+    @Test
+    public void reschedule_CancelledOrders_RemovedUnlessStarted() {
+        List<ScheduleEntry> schedule = initialSchedule();
+        LocalTime now = LocalTime.parse("09:15");
+        IncrementalScheduler scheduler = new IncrementalScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT));
+
+        List<ScheduleEntry> rescheduled = scheduler.reschedule(schedule, now, List.of(),
+                Set.of("order-1", "order-5"), STORE, 1);
+
+        assertTrue(rescheduled.stream().anyMatch(entry -> entry.order().id().equals("order-1")));
+        assertFalse(rescheduled.stream().anyMatch(entry -> entry.order().id().equals("order-5")));
+        assertEquals(schedule.size() - 1, rescheduled.size());
+        assertTrue(TestUtils.isValidSchedule(rescheduled, STORE));
+    }
+
+    @Test
+    public void reschedule_AfterPickingEnd_ReturnsStartedEntries() {
+        List<ScheduleEntry> schedule = initialSchedule();
+        IncrementalScheduler scheduler = new IncrementalScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT));
+
+        List<ScheduleEntry> rescheduled = scheduler.reschedule(schedule, LocalTime.parse("12:00"),
+                List.of(order("order-9", 15, "12:00")), Set.of(), STORE, 1);
+
+        assertEquals(schedule.size(), rescheduled.size());
+        assertTrue(rescheduled.containsAll(schedule));
+    }
+
+    @Test
+    public void reschedule_StartedEntryEndsPastMidnight_PickerBusyUntilPickingEnd() {
+        Picker picker = new Picker("P1");
+        Store store = new Store(List.of(picker), LocalTime.parse("22:00"), LocalTime.parse("23:59"));
+        List<ScheduleEntry> schedule = List.of(new ScheduleEntry(picker, order("order-1", 60, "23:59"), LocalTime.parse("23:30")));
+        IncrementalScheduler scheduler = new IncrementalScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT));
+
+        List<ScheduleEntry> rescheduled = scheduler.reschedule(schedule, LocalTime.parse("23:35"),
+                List.of(order("order-2", 10, "23:59")), Set.of(), store, 1);
+
+        assertEquals(schedule, rescheduled);
+    }
+
+    @Test
+    public void reschedule_CombinedSchedulerWithoutTime_KeepsAtLeastCommittedPlan() {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(900, 20));
+        Store store = generator.store();
+        CombinedScheduler combinedScheduler = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> schedule = combinedScheduler.calculateSchedule(generator.orders(), store, 2);
+        LocalTime now = store.pickingStartTime().plusMinutes(1);
+        IncrementalScheduler scheduler = new IncrementalScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                combinedScheduler);
+
+        List<ScheduleEntry> rescheduled = scheduler.reschedule(schedule, now, List.of(), Set.of(), store, 0);
+
+        assertTrue(TestUtils.isValidSchedule(rescheduled, store));
+        assertTrue(TestUtils.getScheduleValueFitness(rescheduled, store)
+                >= TestUtils.getScheduleValueFitness(schedule, store) - 0.01);
+    }
+}
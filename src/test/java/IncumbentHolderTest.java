@@ -0,0 +1,176 @@
+import com.ocadotask.algorithm.Incumbent;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.SchedulerListener;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncumbentHolderTest {
+
+    private static List<ScheduleEntry> schedule(String... values) {
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        for (int index = 0; index < values.length; index++) {
+            Order order = new Order("order-" + index, new BigDecimal(values[index]), Duration.ofMinutes(15),
+                    LocalTime.parse("10:00"));
+            schedule.add(new ScheduleEntry(new Picker("P1"), order, LocalTime.parse("09:00").plusMinutes(15L * index)));
+        }
+        return schedule;
+    }
+
+    @Test
+    public void offer_BetterAndWorseSchedules_KeepsBest() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> best = schedule("5.00", "10.00");
+
+        assertTrue(incumbents.best().isEmpty());
+        assertTrue(incumbents.offer(schedule("1.00")));
+        assertTrue(incumbents.offer(best));
+        assertFalse(incumbents.offer(schedule("1.00", "2.00", "3.00")));
+        assertFalse(incumbents.offer(schedule("15.00")));
+
+        assertEquals(best, incumbents.best().orElseThrow().schedule());
+        assertEquals(15, incumbents.best().orElseThrow().fitness(), 0.01);
+        assertTrue(incumbents.improves(15.5));
+        assertFalse(incumbents.improves(15));
+    }
+
+    @Test
+    public void subscribe_Offers_NotifiedOfCurrentAndEveryImprovement() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        List<Double> notified = new ArrayList<>();
+        incumbents.offer(schedule("1.00"));
+
+        incumbents.subscribe(incumbent -> notified.add(incumbent.fitness()));
+        incumbents.offer(schedule("1.00"));
+        incumbents.offer(schedule("1.00", "1.00", "1.00"));
+        incumbents.offer(schedule("1.00", "1.00"));
+
+        assertEquals(List.of(1.0, 3.0), notified);
+    }
+
+    @Test
+    public void offer_SubscriberBusyWithEarlierOffer_ReturnsWithoutWaiting() throws InterruptedException {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        CountDownLatch notifying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Double> notified = new CopyOnWriteArrayList<>();
+        incumbents.subscribe(incumbent -> {
+            notified.add(incumbent.fitness());
+            notifying.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread offering = new Thread(() -> incumbents.offer(schedule("1.00")));
+        offering.start();
+        notifying.await();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(incumbents.offer(schedule("1.00", "2.00"))));
+        release.countDown();
+        offering.join();
+
+        // The thread that was notifying caught up with the later offer
+        assertEquals(List.of(1.0, 3.0), notified);
+    }
+
+    @Test
+    public void cancel_FromSubscriber_MarksCancelled() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        List<Incumbent> notified = new ArrayList<>();
+        incumbents.subscribe(incumbent -> {
+            notified.add(incumbent);
+            incumbents.cancel();
+        });
+
+        assertFalse(incumbents.isCancelled());
+        incumbents.offer(schedule("1.00"));
+
+        assertTrue(incumbents.isCancelled());
+        assertEquals(1, notified.size());
+    }
+
+    @Test
+    public void offerOptimal_WorseThanIncumbent_KeepsIncumbentAndCancels() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        List<ScheduleEntry> best = schedule("1.00", "1.00");
+        incumbents.offer(best, "Genetic");
+
+        assertFalse(incumbents.isOptimal());
+        incumbents.offerOptimal(schedule("1.00", "2.00"), "CpSat");
+
+        assertTrue(incumbents.isOptimal());
+        assertTrue(incumbents.isCancelled());
+        assertEquals(best, incumbents.best().orElseThrow().schedule());
+    }
+
+    @Test
+    public void setUpperBound_ReachedByIncumbent_OptimalAndCancelled() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        incumbents.setUpperBound(3.5);
+        incumbents.offer(schedule("1.00", "2.00"));
+
+        assertFalse(incumbents.isCancelled());
+        incumbents.setUpperBound(3);
+
+        assertTrue(incumbents.isOptimal());
+        assertTrue(incumbents.isCancelled());
+        assertEquals(3, incumbents.upperBound());
+    }
+
+    @Test
+    public void offer_WithinGapLimit_CancelledButNotOptimal() {
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE,
+                SchedulerListener.NONE, 0.05);
+        incumbents.setUpperBound(10);
+        incumbents.offer(schedule("9.00"));
+
+        assertFalse(incumbents.isCancelled());
+        incumbents.offer(schedule("9.50"));
+
+        assertTrue(incumbents.isCancelled());
+        assertFalse(incumbents.isOptimal());
+    }
+
+    @Test
+    public void constructor_NegativeGapLimit_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                SchedulerListener.NONE, -0.01));
+    }
+
+    @Test
+    public void offer_WithListener_ReportsImprovementsWithSchedulerName() {
+        List<String> improvements = new ArrayList<>();
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_COUNT,
+                new SchedulerListener() {
+                    @Override
+                    public void incumbentImproved(String scheduler, double fitness, Duration elapsed) {
+                        improvements.add(scheduler + " " + fitness);
+                    }
+                });
+
+        incumbents.offer(schedule("1.00"), "Greedy");
+        incumbents.offer(schedule("1.00"), "Genetic");
+        incumbents.offer(schedule("1.00", "1.00"), "Genetic");
+
+        assertEquals(List.of("Greedy 1.0", "Genetic 2.0"), improvements);
+        assertEquals("Genetic", incumbents.best().orElseThrow().scheduler());
+    }
+}
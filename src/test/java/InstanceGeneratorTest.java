@@ -0,0 +1,97 @@
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.PickingTimeDistribution;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InstanceGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void orders_SameSeed_SameOrders() {
+        InstanceSettings settings = InstanceSettings.defaults(1000, 10);
+
+        List<Order> orders = new InstanceGenerator(settings).orders();
+
+        assertEquals(orders, new InstanceGenerator(settings).orders());
+        assertNotEquals(orders, new InstanceGenerator(settings.withSeed(7)).orders());
+    }
+
+    @Test
+    public void orders_OverloadRatio_TotalPickingTimeMatchesPickerCapacity() {
+        InstanceSettings settings = InstanceSettings.defaults(10_000, 20).withOverloadRatio(2);
+        InstanceGenerator generator = new InstanceGenerator(settings);
+        Store store = generator.store();
+
+        long totalPickingSeconds = generator.orders().stream().mapToLong(order -> order.pickingTime().getSeconds()).sum();
+        long capacitySeconds = store.pickers().size()
+                * Duration.between(store.pickingStartTime(), store.pickingEndTime()).getSeconds();
+
+        assertEquals(2, (double) totalPickingSeconds / capacitySeconds, 0.1);
+    }
+
+    @Test
+    public void orders_AnySettings_PickableWithinPickingHours() {
+        InstanceSettings settings = InstanceSettings.defaults(5000, 5)
+                .withPickingTimes(PickingTimeDistribution.UNIFORM, 1)
+                .withDeadlineClusters(2, Duration.ofHours(3))
+                .withValueSkew(0.9);
+        InstanceGenerator generator = new InstanceGenerator(settings);
+        Store store = generator.store();
+
+        for (Order order : generator.orders()) {
+            assertTrue(order.pickingTime().getSeconds() >= 1);
+            assertFalse(order.completeBy().isBefore(store.pickingStartTime().plus(order.pickingTime())));
+            assertFalse(order.completeBy().isAfter(store.pickingEndTime()));
+            assertTrue(order.value().signum() > 0);
+        }
+    }
+
+    @Test
+    public void writeOrders_ReadBack_SameInstance() throws IOException {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(2000, 10));
+        Path storePath = tempDir.resolve("store.json");
+        Path ordersPath = tempDir.resolve("orders.json");
+
+        generator.writeStore(storePath);
+        generator.writeOrders(ordersPath);
+
+        assertEquals(generator.store(), Store.parse(Files.readString(storePath)));
+        assertEquals(generator.orders(), Orders.read(ordersPath));
+        assertEquals(generator.orders(), OrderTable.read(ordersPath).toOrders());
+    }
+
+    @Test
+    public void orderTable_SameSettings_SameOrdersAsList() {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(2000, 10));
+
+        assertEquals(generator.orders(), generator.orderTable().toOrders());
+    }
+
+    @Test
+    public void new_InvalidSettings_ThrowsIllegalArgumentException() {
+        InstanceSettings settings = InstanceSettings.defaults(100, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> settings.withOverloadRatio(0));
+        assertThrows(IllegalArgumentException.class, () -> settings.withValueSkew(1));
+        assertThrows(IllegalArgumentException.class, () -> InstanceSettings.defaults(100, 0));
+    }
+}
@@ -0,0 +1,137 @@
+import com.ocadotask.algorithm.OrderPreprocessor;
+import com.ocadotask.algorithm.PreprocessedOrders;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class OrderPreprocessorTest {
+
+    private static final List<Order> ORDERS = Orders.parse(
+            """
+                    [
+                      {
+                        "orderId": "order-1",
+                        "orderValue": "5.00",
+                        "pickingTime": "PT15M",
+                        "completeBy": "09:15"
+                      },
+                      {
+                        "orderId": "order-2",
+                        "orderValue": "10.00",
+                        "pickingTime": "PT30M",
+                        "completeBy": "09:20"
+                      },
+                      {
+                        "orderId": "order-3",
+                        "orderValue": "10.00",
+                        "pickingTime": "PT90M",
+                        "completeBy": "11:00"
+                      },
+                      {
+                        "orderId": "order-4",
+                        "orderValue": "20.00",
+                        "pickingTime": "PT45M",
+                        "completeBy": "12:00"
+                      },
+                      {
+                        "orderId": "order-5",
+                        "orderValue": "2.00",
+                        "pickingTime": "PT45M",
+                        "completeBy": "09:45"
+                      }
+                    ]
+                    """
+    );
+
+    private static final Store STORE = Store.parse(
+            """
+                    {
+                      "pickers": [
+                        "P1",
+                        "P2"
+                      ],
+                      "pickingStartTime": "09:00",
+                      "pickingEndTime": "10:00"
+                    }
+                    """
+    );
+
+    @Test
+    public void latestStartTimeInSeconds_CompleteByAfterPickingEnd_IsLimitedByPickingEnd() {
+        assertEquals(9 * 3600 + 15 * 60, OrderPreprocessor.latestStartTimeInSeconds(ORDERS.get(3), STORE));
+    }
+
+    @Test
+    public void preprocess_MaximizeValue_SeparatesInfeasibleAndReportsDominatedOrders() {
+        PreprocessedOrders preprocessedOrders = OrderPreprocessor.preprocess(ORDERS, STORE, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        assertEquals(List.of(ORDERS.get(0), ORDERS.get(3), ORDERS.get(4)), preprocessedOrders.feasibleOrders());
+        assertEquals(List.of(ORDERS.get(1), ORDERS.get(2)), preprocessedOrders.infeasibleOrders());
+        // order-4 can start later, takes no longer and is worth more than order-5
+        assertEquals(List.of(ORDERS.get(4)), preprocessedOrders.dominatedOrders());
+    }
+
+    @Test
+    public void preprocess_MaximizeCount_ReportsDominatedOrders() {
+        PreprocessedOrders preprocessedOrders = OrderPreprocessor.preprocess(ORDERS, STORE, SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+        // order-1 is the shortest, but it has to start first
+        assertEquals(List.of(ORDERS.get(4)), preprocessedOrders.dominatedOrders());
+    }
+
+    @Test
+    public void removeInfeasibleOrders_AllOrdersFeasible_ReturnsSameList() {
+        List<Order> feasibleOrders = OrderPreprocessor.removeInfeasibleOrders(ORDERS, STORE);
+        assertEquals(List.of(ORDERS.get(0), ORDERS.get(3), ORDERS.get(4)), feasibleOrders);
+        assertSame(feasibleOrders, OrderPreprocessor.removeInfeasibleOrders(feasibleOrders, STORE));
+    }
+
+    @Test
+    public void preprocess_GeneratedOrdersWithDuplicates_SameDominatedOrdersAsPairwiseCheck() {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(300, 4).withSeed(7));
+        Store store = generator.store();
+        List<Order> orders = new ArrayList<>(generator.orders());
+        orders.addAll(generator.orders().subList(0, 50));
+
+        for (SchedulerOptimizationCriteria criteria : SchedulerOptimizationCriteria.values()) {
+            PreprocessedOrders preprocessedOrders = OrderPreprocessor.preprocess(orders, store, criteria);
+            List<Order> feasibleOrders = preprocessedOrders.feasibleOrders();
+            List<Order> expected = new ArrayList<>();
+            for (int orderIndex = 0; orderIndex < feasibleOrders.size(); orderIndex++) {
+                for (int otherIndex = 0; otherIndex < feasibleOrders.size(); otherIndex++) {
+                    if (otherIndex != orderIndex && dominates(feasibleOrders.get(otherIndex), otherIndex,
+                            feasibleOrders.get(orderIndex), orderIndex, store, criteria)) {
+                        expected.add(feasibleOrders.get(orderIndex));
+                        break;
+                    }
+                }
+            }
+
+            assertEquals(expected, preprocessedOrders.dominatedOrders());
+            assertEquals(expected.size(), OrderPreprocessor.countDominatedOrders(OrderTable.of(feasibleOrders), store, criteria));
+        }
+    }
+
+    // Of identical orders, the first one dominates the others
+    private static boolean dominates(Order order, int orderIndex, Order other, int otherIndex, Store store,
+                                     SchedulerOptimizationCriteria criteria) {
+        long latestStart = OrderPreprocessor.latestStartTimeInSeconds(order, store);
+        long otherLatestStart = OrderPreprocessor.latestStartTimeInSeconds(other, store);
+        long value = criteria == SchedulerOptimizationCriteria.MAXIMIZE_VALUE ? order.valueCents() : 1;
+        long otherValue = criteria == SchedulerOptimizationCriteria.MAXIMIZE_VALUE ? other.valueCents() : 1;
+        if (latestStart == otherLatestStart && order.pickingTime().equals(other.pickingTime()) && value == otherValue) {
+            return orderIndex < otherIndex;
+        }
+        return latestStart >= otherLatestStart && order.pickingTime().compareTo(other.pickingTime()) <= 0
+                && value >= otherValue;
+    }
+}
@@ -0,0 +1,83 @@
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OrderTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void of_Orders_ColumnsInSecondsAndCents() {
+        List<Order> orders = List.of(
+                new Order("order-1", new BigDecimal("12.345"), Duration.ofMinutes(15), LocalTime.of(9, 15)),
+                new Order("zamówienie-2", new BigDecimal("0.5"), Duration.ofHours(1), LocalTime.of(10, 0, 30))
+        );
+
+        OrderTable table = OrderTable.of(orders);
+
+        assertEquals(2, table.size());
+        assertEquals("order-1", table.id(0));
+        assertEquals(1235, table.valueCents(0));
+        assertEquals(900, table.pickingSeconds(0));
+        assertEquals(9 * 3600 + 15 * 60, table.completeBySeconds(0));
+        assertEquals("zamówienie-2", table.id(1));
+        assertEquals(50, table.valueCents(1));
+        assertEquals(3600, table.pickingSeconds(1));
+        assertEquals(10 * 3600 + 30, table.completeBySeconds(1));
+    }
+
+    @Test
+    public void toOrders_ValuesInCents_SameOrders() {
+        List<Order> orders = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            orders.add(new Order("order-" + index, BigDecimal.valueOf(index, 2), Duration.ofSeconds(index), LocalTime.ofSecondOfDay(index * 60L)));
+        }
+
+        List<Order> tableOrders = OrderTable.of(orders).toOrders();
+
+        assertEquals(orders, tableOrders);
+        assertThrows(UnsupportedOperationException.class, () -> tableOrders.remove(0));
+    }
+
+    @Test
+    public void select_Indices_OrdersInGivenOrder() {
+        OrderTable table = OrderTable.builder()
+                .add("order-1", 100, 60, 3600)
+                .add("order-2", 200, 120, 7200)
+                .add("order-3", 300, 180, 10800)
+                .build();
+
+        OrderTable selected = table.select(new int[]{2, 0});
+
+        assertEquals(List.of(table.order(2), table.order(0)), selected.toOrders());
+    }
+
+    @Test
+    public void read_ValidJSONFile_SameTableAsOf() throws IOException {
+        String json = """
+                [
+                  {"orderId": "order-1", "orderValue": "1.00", "pickingTime": "PT15M", "completeBy": "09:15"},
+                  {"orderId": "order-2", "orderValue": 2.5, "pickingTime": "PT1H15M", "completeBy": "10:00"}
+                ]""";
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        OrderTable table = OrderTable.read(path);
+
+        assertEquals(OrderTable.of(Orders.parse(json)).toOrders(), table.toOrders());
+    }
+}
@@ -0,0 +1,168 @@
+import com.ocadotask.data.Order;
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.OrdersReader;
+import org.json.JSONException;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrdersReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_ValidJSONFile_SameListAsParse() throws IOException {
+        String json = """
+                [
+                  {
+                    "orderId": "order-1",
+                    "orderValue": "1.00",
+                    "pickingTime": "PT15M",
+                    "completeBy": "09:15"
+                  },
+                  {
+                    "orderId": "order-2",
+                    "orderValue": "2.00",
+                    "pickingTime": "PT30M",
+                    "completeBy": "09:30"
+                  },
+                  {
+                    "orderId": "order-3",
+                    "orderValue": "3.00",
+                    "pickingTime": "PT1H15M",
+                    "completeBy": "10:00"
+                  }
+                ]""";
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        assertEquals(Orders.parse(json), Orders.read(path));
+    }
+
+    @Test
+    public void read_UnknownFieldsEscapesAndNumbers_ValidOrders() throws IOException {
+        String json = """
+                [{"customer": {"name": "A \\"quoted\\" name", "tags": ["x", 1, null]},
+                  "orderId": "order-\\u00e9\\/1", "orderValue": 12.5, "priority": true,
+                  "pickingTime": "PT15M", "completeBy": "09:15"},
+                 {"completeBy": "10:00", "pickingTime": "PT30M", "orderValue": "-0.50", "orderId": "zamówienie-2"}]
+                """;
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        List<Order> orders = new ArrayList<>();
+        OrdersReader.read(path, orders::add);
+
+        assertEquals(List.of(
+                new Order("order-é/1", new BigDecimal("12.5"), Duration.ofMinutes(15), LocalTime.parse("09:15")),
+                new Order("zamówienie-2", new BigDecimal("-0.50"), Duration.ofMinutes(30), LocalTime.parse("10:00"))
+        ), orders);
+    }
+
+    @Test
+    public void read_EmptyArray_EmptyList() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("orders.json"), " [ ] \n");
+
+        assertTrue(Orders.read(path).isEmpty());
+    }
+
+    @Test
+    public void read_MissingField_ThrowsJSONException() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("orders.json"),
+                "[{\"orderId\": \"order-1\", \"orderValue\": \"1.00\", \"pickingTime\": \"PT15M\"}]");
+
+        assertThrows(JSONException.class, () -> Orders.read(path));
+    }
+
+    @Test
+    public void read_TruncatedFile_ThrowsJSONException() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("orders.json"),
+                "[{\"orderId\": \"order-1\", \"orderValue\": \"1.00\", \"pickingTime\": \"PT15M\", \"completeBy\": \"09:15\"},");
+
+        assertThrows(JSONException.class, () -> Orders.read(path));
+    }
+
+    @Test
+    public void readTable_FieldFormats_SameTableAsOrders() throws IOException {
+        String json = """
+                [{"orderId": "order-1", "orderValue": "12.345", "pickingTime": "PT15M", "completeBy": "09:15"},
+                 {"orderId": "order-\\u00e9", "orderValue": -0.505, "pickingTime": "PT1H30M", "completeBy": "23:59:59"},
+                 {"orderId": "order-3", "orderValue": 7, "pickingTime": "PT90S", "completeBy": "09:15:30.5"},
+                 {"orderId": "order-4", "orderValue": "1e2", "pickingTime": "P1DT1H", "completeBy": "10:00"},
+                 {"orderId": "order-5", "orderValue": ".5", "pickingTime": "pt15m", "completeBy": "00:00"},
+                 {"orderId": "order-6", "orderValue": "0.994", "pickingTime": "PT1.5S", "completeBy": "12:30"}]
+                """;
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        OrderTable table = OrdersReader.readTable(path);
+
+        assertEquals(OrderTable.of(Orders.read(path)).toOrders(), table.toOrders());
+    }
+
+    @Test
+    public void readTable_LargeFileInParallel_SameTableAsSequential() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int index = 0; index < 30_000; index++) {
+            json.append(index == 0 ? "" : ",\n")
+                    .append("{\"orderId\": \"order-").append(index).append(index % 7 == 0 ? "\\\"quoted\\\"" : "")
+                    .append("\", \"tags\": [\"a,b\", {\"c\": \"]}\"}], \"orderValue\": \"").append(index / 100.0)
+                    .append("\", \"pickingTime\": \"PT").append(index % 60 + 1)
+                    .append("M\", \"completeBy\": \"").append(String.format("%02d:%02d", index % 24, index % 60)).append("\"}");
+        }
+        json.append("]");
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        OrderTable parallelTable = OrdersReader.readTable(path, 4);
+
+        assertEquals(30_000, parallelTable.size());
+        assertEquals(OrdersReader.readTable(path, 1).toOrders(), parallelTable.toOrders());
+        assertEquals("order-7\"quoted\"", parallelTable.id(7));
+    }
+
+    @Test
+    public void readTable_LargeTruncatedFileInParallel_ThrowsJSONException() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int index = 0; index < 30_000; index++) {
+            json.append("{\"orderId\": \"order-").append(index)
+                    .append("\", \"orderValue\": \"1.00\", \"pickingTime\": \"PT15M\", \"completeBy\": \"09:15\"},\n");
+        }
+        Path path = Files.writeString(tempDir.resolve("orders.json"), json);
+
+        assertThrows(JSONException.class, () -> OrdersReader.readTable(path, 4));
+    }
+
+    @Test
+    public void readTable_TokenerInsideDocument_SameTableAsParseAndRestLeft() {
+        String orders = """
+                [{"orderId": "order-1", "orderValue": "12.345", "pickingTime": "PT15M", "completeBy": "09:15"},
+                 {"orderId": "order-2", "orderValue": 7, "pickingTime": "PT90S", "completeBy": "10:00", "extra": [1, {}]}]""";
+        JSONTokener tokener = new JSONTokener("{\"orders\": " + orders + ", \"next\": 1}");
+        // Positioned after the key and the colon
+        tokener.nextClean();
+        tokener.nextValue();
+        tokener.nextClean();
+
+        OrderTable table = OrdersReader.readTable(tokener);
+
+        assertEquals(OrderTable.of(Orders.parse(orders)).toOrders(), table.toOrders());
+        assertEquals(',', tokener.nextClean());
+    }
+
+    @Test
+    public void readTable_TokenerEmptyArray_EmptyTable() {
+        assertEquals(0, OrdersReader.readTable(new JSONTokener(" [ ] ")).size());
+    }
+}
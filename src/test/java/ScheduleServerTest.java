@@ -0,0 +1,138 @@
+import com.ocadotask.ScheduleServer;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScheduleServerTest {
+
+    private static final String STORE_JSON = """
+            {
+              "pickers": ["P1", "P2"],
+              "pickingStartTime": "09:00",
+              "pickingEndTime": "11:00"
+            }""";
+    private static final String ORDERS_JSON = """
+            [
+              {"orderId": "order-1", "orderValue": "1.00", "pickingTime": "PT15M", "completeBy": "09:15"},
+              {"orderId": "order-2", "orderValue": "2.00", "pickingTime": "PT30M", "completeBy": "09:30"},
+              {"orderId": "order-3", "orderValue": "3.00", "pickingTime": "PT15M", "completeBy": "10:00"},
+              {"orderId": "order-4", "orderValue": "4.00", "pickingTime": "PT60M", "completeBy": "10:30"}
+            ]""";
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+    private static ScheduleServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        // One solve at a time and no queue, so a second concurrent request is rejected
+        server = new ScheduleServer(new InetSocketAddress("localhost", 0), 1, 0);
+        server.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop();
+    }
+
+    private static HttpRequest scheduleRequest(String query, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.address().getPort() + "/schedule" + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String problem() {
+        return "{\"store\": " + STORE_JSON + ", \"orders\": " + ORDERS_JSON + "}";
+    }
+
+    // Large enough that no scheduler finishes before the time limit
+    private String largeProblem() throws IOException {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(2000, 10));
+        generator.writeStore(tempDir.resolve("store.json"));
+        generator.writeOrders(tempDir.resolve("orders.json"));
+        return "{\"store\": " + Files.readString(tempDir.resolve("store.json"))
+                + ", \"orders\": " + Files.readString(tempDir.resolve("orders.json")) + "}";
+    }
+
+    @Test
+    public void schedule_ValidProblem_ReturnsValidSchedule() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(scheduleRequest("?timeLimit=1&format=json", problem()),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        Store store = Store.parse(STORE_JSON);
+        List<Order> orders = Orders.parse(ORDERS_JSON);
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        JSONArray entries = new JSONArray(response.body());
+        for (int index = 0; index < entries.length(); index++) {
+            JSONObject entry = entries.getJSONObject(index);
+            schedule.add(new ScheduleEntry(
+                    new Picker(entry.getString("pickerId")),
+                    orders.stream().filter(order -> order.id().equals(entry.getString("orderId"))).findFirst().orElseThrow(),
+                    LocalTime.parse(entry.getString("startTime"))));
+        }
+        assertFalse(schedule.isEmpty());
+        assertTrue(TestUtils.isValidSchedule(schedule, store));
+    }
+
+    @Test
+    public void schedule_OrdersFirstAndUnknownField_ReturnsSchedule() throws IOException, InterruptedException {
+        String body = "{\"orders\": " + ORDERS_JSON + ", \"wave\": {\"id\": [1, 2]}, \"store\": " + STORE_JSON + "}";
+
+        HttpResponse<String> response = client.send(scheduleRequest("?timeLimit=1&format=json", body),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertFalse(new JSONArray(response.body()).isEmpty());
+    }
+
+    @Test
+    public void schedule_MissingOrders_Returns400() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(scheduleRequest("", "{\"store\": " + STORE_JSON + "}"),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void schedule_SolverBusyAndNoQueue_Returns503() throws Exception {
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(scheduleRequest("?timeLimit=3", largeProblem()),
+                HttpResponse.BodyHandlers.ofString());
+        Thread.sleep(1000);
+
+        HttpResponse<String> second = client.send(scheduleRequest("?timeLimit=1", problem()),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(503, second.statusCode());
+        assertEquals(200, first.get().statusCode());
+    }
+}
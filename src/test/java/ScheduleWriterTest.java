@@ -0,0 +1,111 @@
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.ScheduleFormat;
+import com.ocadotask.data.ScheduleWriter;
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ScheduleWriterTest {
+
+    private static final List<ScheduleEntry> SCHEDULE = List.of(
+            entry("P1", "order-1", LocalTime.of(9, 0)),
+            entry("P2", "zamówienie \"2\", pilne", LocalTime.of(9, 15, 30)),
+            entry("P1", "order-🚚", LocalTime.of(23, 59, 59, 500_000_000))
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writeAll_TextFormat_SameAsToString() throws IOException {
+        Path path = write(SCHEDULE, ScheduleFormat.TEXT);
+
+        List<String> expected = SCHEDULE.stream().map(ScheduleEntry::toString).toList();
+        assertEquals(expected, Files.readAllLines(path));
+    }
+
+    @Test
+    public void writeAll_CsvFormat_QuotedIds() throws IOException {
+        Path path = write(SCHEDULE, ScheduleFormat.CSV);
+
+        assertEquals(List.of(
+                "pickerId,orderId,startTime",
+                "P1,order-1,09:00",
+                "P2,\"zamówienie \"\"2\"\", pilne\",09:15:30",
+                "P1,order-🚚,23:59:59.500"
+        ), Files.readAllLines(path));
+    }
+
+    @Test
+    public void writeAll_JsonFormat_ValidJsonArray() throws IOException {
+        Path path = write(SCHEDULE, ScheduleFormat.JSON);
+
+        JSONArray json = new JSONArray(Files.readString(path));
+        assertEquals(SCHEDULE.size(), json.length());
+        for (int index = 0; index < SCHEDULE.size(); index++) {
+            assertEquals(SCHEDULE.get(index).picker().id(), json.getJSONObject(index).getString("pickerId"));
+            assertEquals(SCHEDULE.get(index).order().id(), json.getJSONObject(index).getString("orderId"));
+            assertEquals(SCHEDULE.get(index).startTime(), LocalTime.parse(json.getJSONObject(index).getString("startTime")));
+        }
+    }
+
+    @Test
+    public void writeAll_EmptyScheduleJsonFormat_EmptyArray() throws IOException {
+        Path path = write(List.of(), ScheduleFormat.JSON);
+
+        assertEquals(0, new JSONArray(Files.readString(path)).length());
+    }
+
+    @Test
+    public void writeAll_LargeScheduleBinaryFormat_AllEntriesDecoded() throws IOException {
+        List<ScheduleEntry> schedule = new ArrayList<>();
+        for (int index = 0; index < 100_000; index++) {
+            schedule.add(entry("P" + index % 10, "order-" + index, LocalTime.ofSecondOfDay(index % 86_400)));
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(write(schedule, ScheduleFormat.BINARY)));
+
+        assertEquals(0x4F435343, buffer.getInt());
+        assertEquals(1, buffer.getInt());
+        for (ScheduleEntry entry : schedule) {
+            assertEquals(entry.picker().id(), getString(buffer));
+            assertEquals(entry.order().id(), getString(buffer));
+            assertEquals(entry.startTime().toSecondOfDay(), buffer.getInt());
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private Path write(List<ScheduleEntry> schedule, ScheduleFormat format) throws IOException {
+        Path path = tempDir.resolve("schedule");
+        try (ScheduleWriter writer = ScheduleWriter.toFile(path, format)) {
+            writer.writeAll(schedule);
+        }
+        return path;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ScheduleEntry entry(String pickerId, String orderId, LocalTime startTime) {
+        return new ScheduleEntry(new Picker(pickerId), new Order(orderId, BigDecimal.ONE, Duration.ofMinutes(15), LocalTime.of(10, 0)), startTime);
+    }
+}
@@ -0,0 +1,128 @@
+import com.ocadotask.data.OrderTable;
+import com.ocadotask.data.Orders;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.Snapshot;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_WrittenSnapshot_SameStoreAndOrders() throws IOException {
+        Store store = Store.parse(
+                """
+                        {
+                          "pickers": [
+                            "P1",
+                            "Pracownik-2"
+                          ],
+                          "pickingStartTime": "09:00",
+                          "pickingEndTime": "11:00"
+                        }
+                        """
+        );
+        OrderTable orders = OrderTable.of(Orders.parse(
+                """
+                        [
+                          {
+                            "orderId": "order-1",
+                            "orderValue": "1.25",
+                            "pickingTime": "PT15M",
+                            "completeBy": "09:15"
+                          },
+                          {
+                            "orderId": "zamówienie-2",
+                            "orderValue": "300.00",
+                            "pickingTime": "PT1H30M",
+                            "completeBy": "11:00"
+                          },
+                          {
+                            "orderId": "order-3",
+                            "orderValue": "0.99",
+                            "pickingTime": "PT45M",
+                            "completeBy": "10:00"
+                          }
+                        ]
+                        """
+        ));
+        Path path = tempDir.resolve("wave.bin");
+
+        new Snapshot(store, orders).write(path);
+        Snapshot snapshot = Snapshot.read(path);
+
+        assertEquals(store, snapshot.store());
+        assertEquals(orders.toOrders(), snapshot.orders().toOrders());
+    }
+
+    @Test
+    public void read_WrittenSnapshotWithPickerAvailableTimes_SameStore() throws IOException {
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2")), LocalTime.parse("09:00"),
+                LocalTime.parse("11:00"), List.of(LocalTime.parse("10:15"), LocalTime.parse("09:00")));
+        Path path = tempDir.resolve("wave.bin");
+
+        new Snapshot(store, OrderTable.builder().add("order-1", 100, 60, 39600).build()).write(path);
+        Snapshot snapshot = Snapshot.read(path);
+
+        assertEquals(store, snapshot.store());
+        assertEquals(LocalTime.parse("10:15"), snapshot.store().pickerAvailableTime(0));
+    }
+
+    @Test
+    public void read_Version1Snapshot_PickersAvailableFromStart() throws IOException {
+        // Header without the number of picker available times, no pickers and no orders
+        ByteBuffer content = ByteBuffer.allocate(40)
+                .putInt(0x4F43534E).putInt(1).putInt(32400).putInt(39600).putInt(0).putInt(0).putInt(0).putInt(0)
+                .putInt(0).putInt(0);
+        Path path = Files.write(tempDir.resolve("wave.bin"), content.array());
+
+        Snapshot snapshot = Snapshot.read(path);
+
+        assertEquals(new Store(List.of(), LocalTime.parse("09:00"), LocalTime.parse("11:00")), snapshot.store());
+        assertEquals(0, snapshot.orders().size());
+    }
+
+    @Test
+    public void read_EmptyWave_EmptyStoreAndOrders() throws IOException {
+        Store store = Store.parse("{\"pickers\": [], \"pickingStartTime\": \"09:00\", \"pickingEndTime\": \"09:00\"}");
+        Path path = tempDir.resolve("wave.bin");
+
+        new Snapshot(store, OrderTable.builder().build()).write(path);
+        Snapshot snapshot = Snapshot.read(path);
+
+        assertEquals(store, snapshot.store());
+        assertEquals(0, snapshot.orders().size());
+    }
+
+    @Test
+    public void read_JSONFile_ThrowsIOException() throws IOException {
+        Path path = Files.writeString(tempDir.resolve("orders.json"), "[{\"orderId\": \"order-1\", \"orderValue\": \"1.00\"}]");
+
+        assertThrows(IOException.class, () -> Snapshot.read(path));
+    }
+
+    @Test
+    public void read_TruncatedSnapshot_ThrowsIOException() throws IOException {
+        Store store = Store.parse("{\"pickers\": [\"P1\"], \"pickingStartTime\": \"09:00\", \"pickingEndTime\": \"10:00\"}");
+        Path path = tempDir.resolve("wave.bin");
+        new Snapshot(store, OrderTable.builder().add("order-1", 100, 60, 36000).build()).write(path);
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length - 1));
+
+        assertThrows(IOException.class, () -> Snapshot.read(path));
+    }
+}
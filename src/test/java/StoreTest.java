@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public class StoreTest {
 
     @Test
@@ -29,4 +32,21 @@ public class StoreTest {
 
         assert store.equals(expectedStore);
     }
+
+    @Test
+    public void new_AvailableTimesForOtherPickerCount_ThrowsIllegalArgumentException() {
+        List<Picker> pickers = List.of(new Picker("P1"), new Picker("P2"));
+
+        assertThrows(IllegalArgumentException.class, () -> new Store(pickers, LocalTime.parse("09:00"),
+                LocalTime.parse("11:00"), List.of(LocalTime.parse("10:00"))));
+    }
+
+    @Test
+    public void pickerAvailableTime_BeforeAndAfterPickingStart_LaterOfBoth() {
+        Store store = new Store(List.of(new Picker("P1"), new Picker("P2")), LocalTime.parse("09:00"),
+                LocalTime.parse("11:00"), List.of(LocalTime.parse("08:00"), LocalTime.parse("10:00")));
+
+        assertEquals(LocalTime.parse("09:00"), store.pickerAvailableTime(0));
+        assertEquals(LocalTime.parse("10:00"), store.pickerAvailableTime(1));
+    }
 }
@@ -0,0 +1,71 @@
+import com.ocadotask.algorithm.CombinedScheduler;
+import com.ocadotask.algorithm.IncumbentHolder;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.algorithm.TelemetryReport;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TelemetryReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void write_CombinedSchedulerRun_ReportsGenerationsModelsAndSelection() throws IOException {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(200, 4));
+        Store store = generator.store();
+        TelemetryReport report = new TelemetryReport();
+        IncumbentHolder incumbents = new IncumbentHolder(SchedulerOptimizationCriteria.MAXIMIZE_VALUE, report);
+
+        List<ScheduleEntry> schedule = new CombinedScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE)
+                .calculateSchedule(generator.orders(), store, Instant.now().plusSeconds(3), incumbents);
+        Path path = tempDir.resolve("report.json");
+        report.write(path);
+
+        JSONObject json = new JSONObject(Files.readString(path));
+        JSONObject selected = json.getJSONObject("selected");
+        assertEquals(incumbents.best().orElseThrow().scheduler(), selected.getString("scheduler"));
+        assertEquals(TestUtils.getScheduleValueFitness(schedule, store), selected.getDouble("fitness"), 0.01);
+        assertTrue(selected.getDouble("gap") >= 0);
+        assertEquals(incumbents.upperBound(), json.getJSONObject("upperBound").getDouble("bound"), 1e-9);
+        assertFalse(json.getJSONArray("incumbents").isEmpty());
+        JSONObject genetic = json.getJSONObject("generations").getJSONObject("GeneticScheduler");
+        assertTrue(genetic.getLong("generations") > 0);
+        assertTrue(genetic.getLong("evaluations") > 0);
+        assertFalse(genetic.getJSONArray("bestFitness").isEmpty());
+        JSONObject preprocessing = json.getJSONObject("preprocessing");
+        assertEquals(200, preprocessing.getInt("feasibleOrders") + preprocessing.getInt("infeasibleOrders"));
+        JSONArray phases = json.getJSONArray("phases");
+        assertTrue(phases.length() > 0);
+    }
+
+    @Test
+    public void toJson_ModelSolved_ReportsRelativeGap() {
+        TelemetryReport report = new TelemetryReport();
+
+        report.modelSolved("CpSatScheduler", "FEASIBLE", 80, 100, Duration.ofSeconds(2));
+
+        JSONObject model = report.toJson().getJSONArray("models").getJSONObject(0);
+        assertEquals("FEASIBLE", model.getString("status"));
+        assertEquals(0.25, model.getDouble("gap"), 1e-9);
+        assertEquals(2000, model.getLong("millis"));
+        assertTrue(report.toJson().isNull("selected"));
+    }
+}
@@ -0,0 +1,76 @@
+import com.ocadotask.algorithm.CpSatScheduler;
+import com.ocadotask.algorithm.GreedyScheduler;
+import com.ocadotask.algorithm.SchedulerOptimizationCriteria;
+import com.ocadotask.algorithm.UpperBound;
+import com.ocadotask.data.InstanceGenerator;
+import com.ocadotask.data.InstanceSettings;
+import com.ocadotask.data.Order;
+import com.ocadotask.data.Picker;
+import com.ocadotask.data.ScheduleEntry;
+import com.ocadotask.data.Store;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpperBoundTest {
+
+    @Test
+    public void of_UnderloadedInstance_SumOfValuesReachedByGreedy() {
+        InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(200, 4).withOverloadRatio(0.5));
+        List<Order> orders = generator.orders();
+        Store store = generator.store();
+        double totalValue = orders.stream().mapToDouble(order -> order.value().doubleValue()).sum();
+
+        double upperBound = UpperBound.of(orders, store, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+        List<ScheduleEntry> schedule = new GreedyScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE)
+                .calculateSchedule(orders, store, 1);
+
+        assertEquals(totalValue, upperBound, 0.01);
+        assertTrue(UpperBound.reaches(TestUtils.getScheduleValueFitness(schedule, store), upperBound));
+    }
+
+    @Test
+    public void of_TwoOrdersDueAtOnceForOnePicker_CountsOne() {
+        Store store = new Store(List.of(new Picker("P1")), LocalTime.parse("09:00"), LocalTime.parse("11:00"));
+        List<Order> orders = List.of(
+                new Order("order-1", new BigDecimal("1.00"), Duration.ofMinutes(60), LocalTime.parse("10:00")),
+                new Order("order-2", new BigDecimal("3.00"), Duration.ofMinutes(60), LocalTime.parse("10:00")));
+
+        assertEquals(1, UpperBound.of(orders, store, SchedulerOptimizationCriteria.MAXIMIZE_COUNT));
+        assertEquals(3, UpperBound.of(orders, store, SchedulerOptimizationCriteria.MAXIMIZE_VALUE), 1e-9);
+    }
+
+    @Test
+    public void of_OverloadedInstances_AtLeastCpSatSchedule() {
+        for (long seed = 1; seed <= 3; seed++) {
+            InstanceGenerator generator = new InstanceGenerator(InstanceSettings.defaults(15, 2).withSeed(seed));
+            List<Order> orders = generator.orders();
+            Store store = generator.store();
+
+            double countBound = UpperBound.of(orders, store, SchedulerOptimizationCriteria.MAXIMIZE_COUNT);
+            double valueBound = UpperBound.of(orders, store, SchedulerOptimizationCriteria.MAXIMIZE_VALUE);
+            List<ScheduleEntry> countSchedule = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_COUNT)
+                    .calculateSchedule(orders, store, 2);
+            List<ScheduleEntry> valueSchedule = new CpSatScheduler(SchedulerOptimizationCriteria.MAXIMIZE_VALUE)
+                    .calculateSchedule(orders, store, 2);
+
+            assertEquals(Math.floor(countBound), countBound);
+            assertTrue(countBound >= TestUtils.getScheduleOrderFitness(countSchedule, store));
+            assertTrue(valueBound >= TestUtils.getScheduleValueFitness(valueSchedule, store) - 1e-9);
+            assertTrue(valueBound < orders.stream().mapToDouble(order -> order.value().doubleValue()).sum());
+        }
+    }
+
+    @Test
+    public void gap_FitnessBelowAndAtBound_RelativeGapOrZero() {
+        assertEquals(0.1, UpperBound.gap(90, 100), 1e-12);
+        assertEquals(0, UpperBound.gap(100 - 1e-12, 100));
+        assertEquals(0, UpperBound.gap(0, 0));
+    }
+}